@@ -0,0 +1,118 @@
+package benchmarks;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import utilities.LoggerUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of {@link LoggerUtils} against the previous implementation,
+ * which prefixed every message with the thread context and was called with
+ * eagerly concatenated messages. Debug calls measure the disabled level, plus
+ * one run with DEBUG captured by the flight recorder; info calls write through
+ * the file appender into target/, once with synchronous and once with async
+ * loggers. Run after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" benchmarks.LoggingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog.dir=target/benchmark-logs", "-Dlog.capture.level=INFO"})
+public class LoggingBenchmark {
+    // Same logger as LoggerUtils, so both paths see the same level and appenders
+    private static final Logger LEGACY_LOGGER = LogManager.getLogger(LoggerUtils.class);
+
+    private String locator = "By.xpath: //button[normalize-space()='Save']";
+    private int rowCount = 42;
+
+    @Setup(Level.Trial)
+    public void setContext() {
+        LoggerUtils.initializeContext("TC003_AddStaff", "testAddStaffWithValidDetails");
+        ThreadContext.put("thread", Thread.currentThread().getName());
+    }
+
+    @TearDown(Level.Trial)
+    public void clearContext() {
+        LoggerUtils.clearContext();
+    }
+
+    @Benchmark
+    public void legacyDebugDisabled() {
+        LEGACY_LOGGER.debug(legacyFormat("Retrieved " + rowCount + " rows of data from " + locator));
+    }
+
+    @Benchmark
+    public void debugDisabled() {
+        LoggerUtils.debug("Retrieved {} rows of data from {}", rowCount, locator);
+    }
+
+    @Benchmark
+    public void debugDisabledSupplier() {
+        LoggerUtils.debug(() -> "Retrieved " + rowCount + " rows of data from " + locator);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dlog.dir=target/benchmark-logs")
+    public void debugCaptured() {
+        LoggerUtils.debug("Retrieved {} rows of data from {}", rowCount, locator);
+    }
+
+    @Benchmark
+    public void legacyInfo() {
+        LEGACY_LOGGER.info(legacyFormat("Element is visible: " + locator));
+    }
+
+    @Benchmark
+    public void info() {
+        LoggerUtils.info("Element is visible: {}", locator);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Dlog.dir=target/benchmark-logs",
+            "-Dlog.capture.level=INFO", "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.async.AsyncLoggerContextSelector",
+            "-Dlog4j2.garbagefreeThreadContextMap=true"})
+    public void infoAsync() {
+        LoggerUtils.info("Element is visible: {}", locator);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoggingBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    // LoggerUtils.formatMessage as it was before the context moved into the pattern layout
+    private static String legacyFormat(String message) {
+        StringBuilder formattedMessage = new StringBuilder();
+        if (ThreadContext.get("class") != null) {
+            formattedMessage.append("[").append(ThreadContext.get("class")).append("] ");
+        }
+        if (ThreadContext.get("method") != null) {
+            formattedMessage.append("[").append(ThreadContext.get("method")).append("] ");
+        }
+        if (ThreadContext.get("thread") != null) {
+            formattedMessage.append("[").append(ThreadContext.get("thread")).append("] ");
+        }
+        formattedMessage.append(message);
+        return formattedMessage.toString();
+    }
+}
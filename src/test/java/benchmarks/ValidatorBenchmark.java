@@ -0,0 +1,98 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import utilities.TestDataGenerator;
+import utilities.Validators;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link Validators} with the previous {@code Pattern.matches} based
+ * checks over a batch of generated records. Run after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" benchmarks.ValidatorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+// Generated inputs must not claim values in the shared uniqueness registry of the test runs
+@Fork(value = 1, jvmArgsAppend = "-DUniquenessRegistry=false")
+public class ValidatorBenchmark {
+    // The patterns as they were used by TestDataGenerator before Validators
+    private static final String LEGACY_EMAIL = "^[A-Za-z0-99+_.-]+@(.+)$";
+    private static final String LEGACY_DIGITS_10 = "^\\d{10}$";
+    private static final String LEGACY_SUBDOMAIN = "^[a-z0-9-]+$";
+    private static final String LEGACY_ZIP_CODE = "^\\d{5}(-\\d{4})?$";
+    private static final String LEGACY_PASSWORD = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,}$";
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private String[] emails;
+    private String[] phones;
+    private String[] npis;
+    private String[] subdomains;
+    private String[] zipCodes;
+    private String[] passwords;
+
+    @Setup(Level.Trial)
+    public void generateRecords() {
+        TestDataGenerator generator = new TestDataGenerator("ValidatorBenchmark");
+        emails = toArray(generator.generate(BATCH_SIZE, TestDataGenerator::generateRandomEmail));
+        phones = toArray(generator.generate(BATCH_SIZE, TestDataGenerator::generatePhoneNumber));
+        npis = toArray(generator.generate(BATCH_SIZE, TestDataGenerator::generateRandomNPI));
+        subdomains = toArray(generator.generate(BATCH_SIZE, TestDataGenerator::generateRandomSubDomain));
+        zipCodes = toArray(generator.generate(BATCH_SIZE, TestDataGenerator::generateZipCode));
+        passwords = toArray(generator.generate(BATCH_SIZE, TestDataGenerator::generateSecurePassword));
+    }
+
+    @Benchmark
+    public void legacyPatternMatches(Blackhole blackhole) {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            blackhole.consume(Pattern.matches(LEGACY_EMAIL, emails[i]));
+            blackhole.consume(Pattern.matches(LEGACY_DIGITS_10, phones[i]));
+            blackhole.consume(Pattern.matches(LEGACY_DIGITS_10, npis[i]));
+            blackhole.consume(Pattern.matches(LEGACY_SUBDOMAIN, subdomains[i]));
+            blackhole.consume(Pattern.matches(LEGACY_ZIP_CODE, zipCodes[i]));
+            blackhole.consume(Pattern.matches(LEGACY_PASSWORD, passwords[i]));
+        }
+    }
+
+    @Benchmark
+    public void validators(Blackhole blackhole) {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            blackhole.consume(Validators.isValidEmail(emails[i]));
+            blackhole.consume(Validators.isValidPhoneNumber(phones[i]));
+            blackhole.consume(Validators.isValidNPI(npis[i]));
+            blackhole.consume(Validators.isValidSubdomain(subdomains[i]));
+            blackhole.consume(Validators.isValidZipCode(zipCodes[i]));
+            blackhole.consume(Validators.isValidPassword(passwords[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ValidatorBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static String[] toArray(List<String> values) {
+        return values.toArray(new String[0]);
+    }
+}
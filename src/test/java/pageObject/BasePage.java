@@ -2,16 +2,23 @@ package pageObject;
 
 import io.qameta.allure.Step;
 import org.openqa.selenium.*;
+import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import testBase.BaseClass;
+import utilities.ActionMetrics;
 import utilities.LoggerUtils;
 
 import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class BasePage {
     private static final String PROGRESS_BAR_XPATH = "//div[span[@role='progressbar']]";
@@ -19,18 +26,71 @@ public class BasePage {
     private static final Duration PROGRESS_BAR_TIMEOUT = Duration.ofSeconds(60);
     private static final Duration POLLING_INTERVAL = Duration.ofMillis(500);
     private static final Duration UI_LOAD_WAIT = Duration.ofMillis(1000);
+    private static final Duration DROPDOWN_TIMEOUT = Duration.ofSeconds(10);
+    private static final String DEFAULT_UI_QUIET_WINDOW_MS = "150";
+    private static final String DEFAULT_UI_SETTLE_TIMEOUT_MS = "10000";
+    private static final String DEFAULT_NETWORK_IDLE_MS = "100";
 
+    // Fields arrive as @FindBy XPaths (resolved in page) or as element references.
+    // Uses the native value setter so React's value tracker sees the change, then fires the events it listens to.
+    private static final String RESOLVE_FIELDS_FUNCTION =
+            "var resolve = function(fields) { return Array.prototype.map.call(fields, function(f) {"
+                    + "  return typeof f === 'string'"
+                    + "    ? document.evaluate(f, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue : f;"
+                    + "}); };";
+    private static final String FILL_FORM_SCRIPT = RESOLVE_FIELDS_FUNCTION
+            + "var fields = resolve(arguments[0]), values = arguments[1];"
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var field = fields[i];"
+            + "  if (!field) { continue; }"
+            + "  var prototype = field instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+            + "  field.focus();"
+            + "  Object.getOwnPropertyDescriptor(prototype, 'value').set.call(field, values[i]);"
+            + "  field.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "  field.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "  field.blur();"
+            + "}";
+    private static final String READ_VALUES_SCRIPT = RESOLVE_FIELDS_FUNCTION
+            + "return resolve(arguments[0]).map(function(field) { return field ? field.value : null; });";
+
+    // Element proxy -> "Page.field" / @FindBy xpath, built lazily; identity based so no proxy method triggers a lookup
+    private Map<WebElement, String> fieldNames;
+    private Map<WebElement, String> fieldXPaths;
 
     public BasePage() {
-        PageFactory.initElements(BaseClass.getDriver(), this);
+        if (Boolean.parseBoolean(BaseClass.properties.getProperty("ElementCache", "false"))) {
+            PageFactory.initElements(new CachingElementLocatorFactory(BaseClass.getDriver()), this);
+        } else {
+            PageFactory.initElements(BaseClass.getDriver(), this);
+        }
+        NetworkActivityTracker.install(BaseClass.getDriver());
     }
 
     @Step("Waiting for UI to load")
     protected void waitForUILoad() {
+        ActionMetrics.Timer timer = ActionMetrics.time("waitForUILoad", null);
         try {
-            Thread.sleep(UI_LOAD_WAIT.toMillis());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            awaitUISettled();
+        } finally {
+            timer.close();
+        }
+    }
+
+    private void awaitUISettled() {
+        if ("legacy".equalsIgnoreCase(BaseClass.properties.getProperty("UiWaitMode"))) {
+            try {
+                Thread.sleep(UI_LOAD_WAIT.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            Duration quietWindow = Duration.ofMillis(Long.parseLong(
+                    BaseClass.properties.getProperty("UiQuietWindowMs", DEFAULT_UI_QUIET_WINDOW_MS).trim()));
+            Duration settleTimeout = Duration.ofMillis(Long.parseLong(
+                    BaseClass.properties.getProperty("UiSettleTimeoutMs", DEFAULT_UI_SETTLE_TIMEOUT_MS).trim()));
+            if (DomObserver.awaitQuiet(getDriver(), quietWindow, settleTimeout)) {
+                return;
+            }
         }
         new WebDriverWait(getDriver(), DEFAULT_TIMEOUT).until(
                 webDriver -> ((JavascriptExecutor) webDriver)
@@ -41,75 +101,235 @@ public class BasePage {
         return BaseClass.getDriver();
     }
 
+    /**
+     * Names an element for the action metrics: the page-object field holding it
+     * when known, otherwise the locator it was found by.
+     *
+     * @param element The element acted on
+     * @return A short description that never triggers a remote call
+     */
+    protected String describe(WebElement element) {
+        if (element == null) {
+            return null;
+        }
+        indexFields();
+        String fieldName = fieldNames.get(element);
+        if (fieldName != null) {
+            return fieldName;
+        }
+        // Resolved elements print as "[[driver] -> xpath: ...]", proxies as "Proxy element for: ..."
+        String text = element.toString();
+        int locatorStart = text.lastIndexOf("-> ");
+        return locatorStart >= 0 ? text.substring(locatorStart + 3, text.length() - 1) : text;
+    }
+
+    private void indexFields() {
+        if (fieldNames != null) {
+            return;
+        }
+        fieldNames = new IdentityHashMap<>();
+        fieldXPaths = new IdentityHashMap<>();
+        for (Class<?> type = getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (WebElement.class.isAssignableFrom(field.getType()) && !Modifier.isStatic(field.getModifiers())) {
+                    try {
+                        field.setAccessible(true);
+                        Object value = field.get(this);
+                        if (value != null) {
+                            fieldNames.put((WebElement) value, type.getSimpleName() + "." + field.getName());
+                            FindBy findBy = field.getAnnotation(FindBy.class);
+                            if (findBy != null && !findBy.xpath().isEmpty()) {
+                                fieldXPaths.put((WebElement) value, findBy.xpath());
+                            }
+                        }
+                    } catch (IllegalAccessException e) {
+                        LoggerUtils.debug("Cannot read field {}: {}", field.getName(), e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
     @Step("Waiting for element to be clickable")
     protected WebElement waitForElementToBeClickable(WebElement element) {
         LoggerUtils.debug("Waiting for element to be clickable");
-        waitForUILoad();
-        FluentWait<WebDriver> wait = new FluentWait<>(getDriver())
-                .withTimeout(DEFAULT_TIMEOUT)
-                .pollingEvery(POLLING_INTERVAL)
-                .ignoring(StaleElementReferenceException.class, ElementClickInterceptedException.class);
+        ActionMetrics.Timer timer = ActionMetrics.time("waitForElementToBeClickable", describe(element));
+        try {
+            waitForUILoad();
+            FluentWait<WebDriver> wait = new FluentWait<>(getDriver())
+                    .withTimeout(DEFAULT_TIMEOUT)
+                    .pollingEvery(POLLING_INTERVAL)
+                    .ignoring(StaleElementReferenceException.class, ElementClickInterceptedException.class);
 
-        return wait.until(ExpectedConditions.elementToBeClickable(element));
+            return wait.until(ExpectedConditions.elementToBeClickable(element));
+        } finally {
+            timer.close();
+        }
     }
 
     @Step("Waiting for element to be visible")
     protected WebElement waitForElementToBeVisible(WebElement element) {
         LoggerUtils.debug("Waiting for element to be visible");
-        waitForUILoad();
-        FluentWait<WebDriver> wait = new FluentWait<>(getDriver())
-                .withTimeout(DEFAULT_TIMEOUT)
-                .pollingEvery(POLLING_INTERVAL)
-                .ignoring(StaleElementReferenceException.class);
+        ActionMetrics.Timer timer = ActionMetrics.time("waitForElementToBeVisible", describe(element));
+        try {
+            waitForUILoad();
+            FluentWait<WebDriver> wait = new FluentWait<>(getDriver())
+                    .withTimeout(DEFAULT_TIMEOUT)
+                    .pollingEvery(POLLING_INTERVAL)
+                    .ignoring(StaleElementReferenceException.class);
 
-        return wait.until(ExpectedConditions.visibilityOf(element));
+            return wait.until(ExpectedConditions.visibilityOf(element));
+        } finally {
+            timer.close();
+        }
     }
 
     @Step("Setting input field value: {1}")
     protected void setInputField(WebElement element, String value) {
-        LoggerUtils.debug("Setting input field value: " + value);
-        WebElement inputField = waitForElementToBeVisible(element);
-        ((JavascriptExecutor) getDriver()).executeScript("arguments[0].value = '';", inputField);
-        inputField.sendKeys(value);
-        new WebDriverWait(getDriver(), DEFAULT_TIMEOUT)
-                .until(ExpectedConditions.attributeToBe(inputField, "value", value));
+        LoggerUtils.debug("Setting input field value: {}", value);
+        ActionMetrics.Timer timer = ActionMetrics.time("setInputField", describe(element));
+        try {
+            WebElement inputField = waitForElementToBeVisible(element);
+            ((JavascriptExecutor) getDriver()).executeScript("arguments[0].value = '';", inputField);
+            inputField.sendKeys(value);
+            new WebDriverWait(getDriver(), DEFAULT_TIMEOUT)
+                    .until(ExpectedConditions.attributeToBe(inputField, "value", value));
+        } finally {
+            timer.close();
+        }
+        StepRecorder.afterAction(getDriver(), "setInputField", describe(element));
+    }
+
+    /**
+     * Fills several text fields with one script call and verifies them with a
+     * second one. Page-object fields are resolved in page from their @FindBy
+     * XPath, so no per-field element lookup is issued. Fields whose value did not
+     * stick (e.g. inputs that need real key events) are retyped with
+     * {@link #setInputField(WebElement, String)}. With BulkFormFill=false every
+     * field is typed individually.
+     * <p>
+     * Takes entries rather than a hashed map: hashing a PageFactory proxy would
+     * itself trigger an element lookup.
+     *
+     * @param fields Field/value pairs, filled in list order
+     */
+    @Step("Filling form fields")
+    protected void fillForm(List<Map.Entry<WebElement, String>> fields) {
+        if (fields.isEmpty()) {
+            return;
+        }
+        LoggerUtils.debug("Filling {} form fields", fields.size());
+        ActionMetrics.Timer timer = ActionMetrics.time("fillForm", null);
+        try {
+            if (!Boolean.parseBoolean(BaseClass.properties.getProperty("BulkFormFill", "true"))) {
+                fields.forEach(field -> setInputField(field.getKey(), field.getValue()));
+                return;
+            }
+            indexFields();
+            List<Object> targets = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            for (Map.Entry<WebElement, String> field : fields) {
+                String xpath = fieldXPaths.get(field.getKey());
+                targets.add(xpath != null ? xpath : field.getKey());
+                values.add(field.getValue());
+            }
+
+            // The form renders as a whole, so one visibility wait covers every field
+            waitForElementToBeVisible(fields.get(0).getKey());
+            JavascriptExecutor js = (JavascriptExecutor) getDriver();
+            js.executeScript(FILL_FORM_SCRIPT, targets, values);
+
+            List<?> actual = (List<?>) js.executeScript(READ_VALUES_SCRIPT, targets);
+            for (int i = 0; i < fields.size(); i++) {
+                if (!values.get(i).equals(actual.get(i))) {
+                    WebElement element = fields.get(i).getKey();
+                    LoggerUtils.debug(() -> "Bulk fill did not stick for " + describe(element) + ", typing it instead");
+                    setInputField(element, values.get(i));
+                }
+            }
+        } finally {
+            timer.close();
+        }
+        StepRecorder.afterAction(getDriver(), "fillForm", null);
     }
 
     @Step("Clicking element")
     protected void clickButton(WebElement element) {
         LoggerUtils.debug("Attempting to click element");
+        ActionMetrics.Timer timer = ActionMetrics.time("clickButton", describe(element));
         try {
-            waitForUILoad();
-            waitForElementToBeClickable(element).click();
-        } catch (Exception e) {
-            LoggerUtils.warn("Regular click failed, attempting JavaScript click");
-            JavascriptExecutor js = (JavascriptExecutor) getDriver();
-            js.executeScript("arguments[0].click();", element);
+            try {
+                waitForUILoad();
+                waitForElementToBeClickable(element).click();
+            } catch (Exception e) {
+                LoggerUtils.warn("Regular click failed, attempting JavaScript click");
+                JavascriptExecutor js = (JavascriptExecutor) getDriver();
+                js.executeScript("arguments[0].click();", element);
+            }
+        } finally {
+            timer.close();
         }
+        StepRecorder.afterAction(getDriver(), "clickButton", describe(element));
     }
 
-    @Step("Selecting dropdown option: {1}")
     protected void selectDropdownByVisibleText(WebElement dropdownElement, String visibleText, String listItemsXPath) {
-        LoggerUtils.debug("Selecting dropdown option: " + visibleText);
-        dropdownElement.click();
-        List<WebElement> dropdownItems = getDriver().findElements(By.xpath(listItemsXPath));
-        for (WebElement item : dropdownItems) {
-            if (item.getText().equalsIgnoreCase(visibleText)) {
-                item.click();
-                return;
+        selectDropdownByVisibleText(dropdownElement, visibleText, listItemsXPath, DROPDOWN_TIMEOUT);
+    }
+
+    /**
+     * Opens the dropdown and selects the option with the given text (case and
+     * whitespace insensitive) in a single script call; see {@link DropdownSelector}.
+     * With DropdownEngine=legacy the list is awaited and its options are read and
+     * clicked one by one, then an input combobox is awaited to show the value.
+     *
+     * @param dropdownElement The dropdown or combobox input
+     * @param visibleText     Text of the option to select
+     * @param listItemsXPath  XPath matching every option of the open list
+     * @param timeout         Upper bound for the list to render and the selection to show
+     */
+    @Step("Selecting dropdown option: {1}")
+    protected void selectDropdownByVisibleText(WebElement dropdownElement, String visibleText, String listItemsXPath,
+                                               Duration timeout) {
+        LoggerUtils.debug("Selecting dropdown option: {}", visibleText);
+        ActionMetrics.Timer timer = ActionMetrics.time("selectDropdownByVisibleText", describe(dropdownElement));
+        try {
+            if ("legacy".equalsIgnoreCase(BaseClass.properties.getProperty("DropdownEngine", "script"))) {
+                dropdownElement.click();
+                WebDriverWait wait = new WebDriverWait(getDriver(), timeout);
+                wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(listItemsXPath)));
+                List<WebElement> dropdownItems = getDriver().findElements(By.xpath(listItemsXPath));
+                for (WebElement item : dropdownItems) {
+                    if (item.getText().equalsIgnoreCase(visibleText)) {
+                        item.click();
+                        // Input comboboxes (Address state and country) confirm the selection in their value
+                        if ("input".equalsIgnoreCase(dropdownElement.getTagName())) {
+                            wait.until(ExpectedConditions.textToBePresentInElementValue(dropdownElement, visibleText));
+                        }
+                        return;
+                    }
+                }
+                throw new RuntimeException("Dropdown item not found: " + visibleText);
             }
+            indexFields();
+            String xpath = fieldXPaths.get(dropdownElement);
+            DropdownSelector.select(getDriver(), xpath != null ? xpath : dropdownElement, visibleText, listItemsXPath,
+                    timeout);
+        } finally {
+            timer.close();
         }
-        throw new RuntimeException("Dropdown item not found: " + visibleText);
+        StepRecorder.afterAction(getDriver(), "selectDropdownByVisibleText", describe(dropdownElement));
     }
 
     @Step("Waiting for progress bar to disappear")
     protected void waitForProgressBarToDisappear() {
-        FluentWait<WebDriver> wait = new FluentWait<>(getDriver())
-                .withTimeout(PROGRESS_BAR_TIMEOUT)
-                .pollingEvery(POLLING_INTERVAL)
-                .ignoring(StaleElementReferenceException.class);
-
-        wait.until(d -> d.findElements(By.xpath(PROGRESS_BAR_XPATH)).stream().noneMatch(WebElement::isDisplayed));
+        Duration idleWindow = Duration.ofMillis(Long.parseLong(
+                BaseClass.properties.getProperty("NetworkIdleMs", DEFAULT_NETWORK_IDLE_MS).trim()));
+        ActionMetrics.Timer timer = ActionMetrics.time("waitForProgressBarToDisappear", null);
+        try {
+            NetworkActivityTracker.awaitIdle(getDriver(), PROGRESS_BAR_XPATH, idleWindow, PROGRESS_BAR_TIMEOUT);
+        } finally {
+            timer.close();
+        }
         LoggerUtils.debug("Progress bar operation completed");
     }
 
@@ -123,53 +343,78 @@ public class BasePage {
     }
 
     public boolean isProgressBarDisplayed() {
-        return getDriver().findElements(By.xpath(PROGRESS_BAR_XPATH)).stream().anyMatch(WebElement::isDisplayed);
+        return NetworkActivityTracker.isVisible(getDriver(), PROGRESS_BAR_XPATH);
     }
 
     @Step("Checking if element is displayed")
     protected boolean isElementDisplayed(WebElement element) {
+        ActionMetrics.Timer timer = ActionMetrics.time("isElementDisplayed", describe(element));
         try {
             waitForElementToBeVisible(element);
             return element.isDisplayed();
         } catch (NoSuchElementException | StaleElementReferenceException e) {
             return false;
+        } finally {
+            timer.close();
         }
     }
 
     @Step("Using fluent wait for element")
     protected WebElement fluentWait(By locator, Duration timeout, Duration polling) {
-        LoggerUtils.debug("Using fluent wait for element: " + locator);
-        return new FluentWait<>(getDriver())
-                .withTimeout(timeout)
-                .pollingEvery(polling)
-                .ignoring(StaleElementReferenceException.class)
-                .until(d -> d.findElement(locator));
+        LoggerUtils.debug("Using fluent wait for element: {}", locator);
+        ActionMetrics.Timer timer = ActionMetrics.time("fluentWait", locator.toString());
+        try {
+            return new FluentWait<>(getDriver())
+                    .withTimeout(timeout)
+                    .pollingEvery(polling)
+                    .ignoring(StaleElementReferenceException.class)
+                    .until(d -> d.findElement(locator));
+        } finally {
+            timer.close();
+        }
     }
 
     @Step("Uploading file: {1}")
     protected void uploadFile(WebElement element, String filePath) {
-        LoggerUtils.debug("Uploading file: " + filePath);
-        element.sendKeys(new File(filePath).getAbsolutePath());
+        LoggerUtils.debug("Uploading file: {}", filePath);
+        ActionMetrics.Timer timer = ActionMetrics.time("uploadFile", describe(element));
+        try {
+            element.sendKeys(new File(filePath).getAbsolutePath());
+        } finally {
+            timer.close();
+        }
+        StepRecorder.afterAction(getDriver(), "uploadFile", describe(element));
     }
 
     @Step("Switching to new window")
     protected void switchToNewWindow() {
         LoggerUtils.debug("Switching to new window");
-        String originalWindow = getDriver().getWindowHandle();
-        new WebDriverWait(getDriver(), DEFAULT_TIMEOUT)
-                .until(ExpectedConditions.numberOfWindowsToBe(2));
-        for (String windowHandle : getDriver().getWindowHandles()) {
-            if (!windowHandle.equals(originalWindow)) {
-                getDriver().switchTo().window(windowHandle);
-                break;
+        ActionMetrics.Timer timer = ActionMetrics.time("switchToNewWindow", null);
+        try {
+            String originalWindow = getDriver().getWindowHandle();
+            new WebDriverWait(getDriver(), DEFAULT_TIMEOUT)
+                    .until(ExpectedConditions.numberOfWindowsToBe(2));
+            for (String windowHandle : getDriver().getWindowHandles()) {
+                if (!windowHandle.equals(originalWindow)) {
+                    getDriver().switchTo().window(windowHandle);
+                    break;
+                }
             }
+        } finally {
+            timer.close();
         }
     }
 
     @Step("Accepting alert")
     protected void acceptAlert() {
         LoggerUtils.debug("Accepting alert");
-        new WebDriverWait(getDriver(), DEFAULT_TIMEOUT)
-                .until(ExpectedConditions.alertIsPresent()).accept();
+        ActionMetrics.Timer timer = ActionMetrics.time("acceptAlert", null);
+        try {
+            new WebDriverWait(getDriver(), DEFAULT_TIMEOUT)
+                    .until(ExpectedConditions.alertIsPresent()).accept();
+        } finally {
+            timer.close();
+        }
+        StepRecorder.afterAction(getDriver(), "acceptAlert", null);
     }
 }
\ No newline at end of file
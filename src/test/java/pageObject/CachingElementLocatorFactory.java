@@ -0,0 +1,136 @@
+package pageObject;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+import utilities.ReportSummary;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PageFactory locator factory that caches the element resolved for each
+ * {@code @FindBy(xpath = ...)} field. The cache is revalidated against the DOM
+ * generation counter maintained by {@link DomObserver}: as long as the document
+ * has not mutated since the element was resolved, the cached handle is reused.
+ * Revalidation and re-resolution happen in the same script call, so a lookup is
+ * never more than one round trip and only falls back to the driver (and its
+ * implicit wait) when the element is not in the DOM yet.
+ * <p>
+ * Every lookup, hit or miss, still costs that one script call: the cache replaces
+ * findElement calls, it does not save wire round trips. On React pages the
+ * generation changes after almost every action, so expect a low hit rate; the
+ * reports show it next to the script and driver call counts. The cache is off
+ * (ElementCache=false) until a run shows it beats plain findElement calls.
+ */
+public class CachingElementLocatorFactory implements ElementLocatorFactory {
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong DRIVER_LOOKUPS = new AtomicLong();
+    private static final AtomicLong SCRIPT_CALLS = new AtomicLong();
+
+    private static final String LOCATE_SCRIPT = DomObserver.INSTALL_SCRIPT
+            + "var state = window.__eamataDom, token = state.id + ':' + state.generation;"
+            + "if (arguments[1] === token) { return [token]; }"
+            + "var node = document.evaluate(arguments[0], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "return [token, node];";
+
+    static {
+        ReportSummary.register("Element locator cache", CachingElementLocatorFactory::describeStats);
+    }
+
+    private final WebDriver driver;
+
+    public CachingElementLocatorFactory(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        Annotations annotations = new Annotations(field);
+        FindBy findBy = field.getAnnotation(FindBy.class);
+        String xpath = findBy != null && !findBy.xpath().isEmpty() ? findBy.xpath() : null;
+        return new CachingElementLocator(driver, annotations.buildBy(), xpath);
+    }
+
+    /**
+     * Describes cache effectiveness for the reports.
+     *
+     * @return Hit, miss, script call and driver lookup counts
+     */
+    public static String describeStats() {
+        long hits = HITS.get();
+        long total = hits + MISSES.get();
+        long hitRate = total == 0 ? 0 : hits * 100 / total;
+        return "hits=" + hits + ", misses=" + MISSES.get() + ", hitRate=" + hitRate + "%"
+                + ", scriptCalls=" + SCRIPT_CALLS.get() + ", driverLookups=" + DRIVER_LOOKUPS.get();
+    }
+
+    private static final class CachingElementLocator implements ElementLocator {
+        private final SearchContext searchContext;
+        private final By by;
+        private final String xpath;
+        private WebElement cachedElement;
+        private String cachedToken;
+
+        private CachingElementLocator(SearchContext searchContext, By by, String xpath) {
+            this.searchContext = searchContext;
+            this.by = by;
+            this.xpath = xpath;
+        }
+
+        @Override
+        public WebElement findElement() {
+            if (xpath == null) {
+                DRIVER_LOOKUPS.incrementAndGet();
+                return searchContext.findElement(by);
+            }
+            List<?> result;
+            SCRIPT_CALLS.incrementAndGet();
+            try {
+                result = (List<?>) ((JavascriptExecutor) searchContext).executeScript(LOCATE_SCRIPT, xpath, cachedToken);
+            } catch (WebDriverException e) {
+                // Document unloading mid-call; resolve through the driver instead
+                cachedElement = null;
+                cachedToken = null;
+                DRIVER_LOOKUPS.incrementAndGet();
+                return searchContext.findElement(by);
+            }
+
+            String token = (String) result.get(0);
+            if (result.size() == 1 && cachedElement != null) {
+                HITS.incrementAndGet();
+                return cachedElement;
+            }
+            MISSES.incrementAndGet();
+            WebElement element = result.size() > 1 ? (WebElement) result.get(1) : null;
+            if (element == null) {
+                // Not rendered yet: let the driver wait for it
+                DRIVER_LOOKUPS.incrementAndGet();
+                element = searchContext.findElement(by);
+            }
+            cachedElement = element;
+            cachedToken = token;
+            return element;
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            DRIVER_LOOKUPS.incrementAndGet();
+            return searchContext.findElements(by);
+        }
+
+        @Override
+        public String toString() {
+            return "CachingElementLocator '" + by + "'";
+        }
+    }
+}
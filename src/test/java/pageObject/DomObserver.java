@@ -0,0 +1,66 @@
+package pageObject;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import utilities.LoggerUtils;
+
+import java.time.Duration;
+
+/**
+ * Injects a MutationObserver into the current document and answers DOM-activity
+ * questions from it in a single script call. The observer is re-installed
+ * lazily after every navigation, since a new document discards it.
+ */
+public class DomObserver {
+    // The random id tells documents apart, so a new page never reuses an old generation number
+    static final String INSTALL_SCRIPT =
+            "if (!window.__eamataDom) {"
+                    + "  var state = { id: Math.random().toString(36).slice(2), generation: 0, lastMutation: performance.now() };"
+                    + "  state.observer = new MutationObserver(function() { state.generation++; state.lastMutation = performance.now(); });"
+                    + "  state.observer.observe(document.documentElement || document,"
+                    + "      { childList: true, subtree: true, attributes: true, characterData: true });"
+                    + "  window.__eamataDom = state;"
+                    + "}"
+                    + "if (window.__eamataDom.observer.takeRecords().length) {"
+                    + "  window.__eamataDom.generation++; window.__eamataDom.lastMutation = performance.now();"
+                    + "}";
+
+    private static final String AWAIT_QUIET_SCRIPT = INSTALL_SCRIPT
+            + "var quietMs = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];"
+            + "var state = window.__eamataDom, start = performance.now();"
+            + "(function check() {"
+            + "  var now = performance.now();"
+            + "  if (document.readyState === 'complete' && now - state.lastMutation >= quietMs) { done(true); return; }"
+            + "  if (now - start >= timeoutMs) { done(false); return; }"
+            + "  setTimeout(check, Math.min(quietMs, 25));"
+            + "})();";
+
+    private DomObserver() {
+    }
+
+    /**
+     * Blocks until the document has finished loading and has seen no DOM
+     * mutations for the quiet window, or until the hard timeout elapses.
+     *
+     * @param driver      The driver to wait on
+     * @param quietWindow How long the DOM must stay unchanged
+     * @param timeout     Upper bound on the wait
+     * @return true if the page settled, false if the timeout elapsed first
+     */
+    public static boolean awaitQuiet(WebDriver driver, Duration quietWindow, Duration timeout) {
+        try {
+            Object settled = ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_QUIET_SCRIPT,
+                    quietWindow.toMillis(), timeout.toMillis());
+            if (!Boolean.TRUE.equals(settled)) {
+                LoggerUtils.debug("DOM did not settle within {} ms", timeout.toMillis());
+                return false;
+            }
+            return true;
+        } catch (WebDriverException e) {
+            // Typically a navigation unloaded the document mid-script; the caller's waits take over
+            LoggerUtils.debug("DOM quiescence check interrupted: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package pageObject;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utilities.ReportSummary;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Selects an option from a listbox/combobox widget in a single async script
+ * call: the script opens the widget, waits for the option list to render,
+ * matches the option by normalized text in page and clicks it. For input-based
+ * comboboxes it also waits for the input to show the selection.
+ * <p>
+ * Option positions are cached per browser session, trigger XPath and list
+ * XPath; the trigger is part of the key because dropdowns of one form often
+ * share a list XPath. A repeat selection passes the cached index, which the
+ * script only has to confirm instead of scanning the whole list. Triggers
+ * passed as elements are not cached.
+ */
+public class DropdownSelector {
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong SCANS = new AtomicLong();
+
+    // Session -> trigger XPath and list XPath -> normalized option text -> position
+    private static final Map<String, Map<String, Map<String, Integer>>> OPTION_INDEX = new ConcurrentHashMap<>();
+
+    private static final String SELECT_SCRIPT =
+            "var trigger = typeof arguments[0] === 'string'"
+                    + "  ? document.evaluate(arguments[0], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue"
+                    + "  : arguments[0];"
+                    + "var itemsXPath = arguments[1], hint = arguments[3], timeoutMs = arguments[4];"
+                    + "var done = arguments[arguments.length - 1], start = performance.now();"
+                    + "var normalize = function(text) { return String(text || '').replace(/\\s+/g, ' ').trim().toLowerCase(); };"
+                    + "var wanted = normalize(arguments[2]);"
+                    + "var press = function(el) {"
+                    + "  el.scrollIntoView({ block: 'nearest' });"
+                    + "  ['mousedown', 'mouseup'].forEach(function(type) {"
+                    + "    el.dispatchEvent(new MouseEvent(type, { bubbles: true, cancelable: true, view: window, button: 0 }));"
+                    + "  });"
+                    + "  el.click();"
+                    + "};"
+                    + "if (!trigger) { done({ status: 'noTrigger' }); return; }"
+                    + "trigger.focus();"
+                    + "press(trigger);"
+                    + "var previous = null;"
+                    + "var awaitValue = function(index, options) {"
+                    + "  if (trigger.tagName !== 'INPUT' || normalize(trigger.value).indexOf(wanted) >= 0) {"
+                    + "    done({ status: 'selected', index: index, options: options }); return;"
+                    + "  }"
+                    + "  if (performance.now() - start >= timeoutMs) { done({ status: 'unconfirmed', index: index, options: options }); return; }"
+                    + "  setTimeout(function() { awaitValue(index, options); }, 25);"
+                    + "};"
+                    + "(function findOption() {"
+                    + "  var items = document.evaluate(itemsXPath, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+                    + "  var text = function(i) { var n = items.snapshotItem(i); return normalize(n.innerText || n.textContent); };"
+                    + "  if (items.snapshotLength) {"
+                    + "    if (hint >= 0 && hint < items.snapshotLength && text(hint) === wanted) {"
+                    + "      press(items.snapshotItem(hint)); awaitValue(hint, null); return;"
+                    + "    }"
+                    + "    var options = [], match = -1;"
+                    + "    for (var i = 0; i < items.snapshotLength; i++) {"
+                    + "      options.push(text(i));"
+                    + "      if (match < 0 && options[i] === wanted) { match = i; }"
+                    + "    }"
+                    + "    if (match >= 0) { press(items.snapshotItem(match)); awaitValue(match, options); return; }"
+                    + "    var signature = options.join('\\n');"
+                    + "    if (signature === previous) { done({ status: 'notFound', options: options }); return; }"
+                    + "    previous = signature;"
+                    + "  }"
+                    + "  if (performance.now() - start >= timeoutMs) { done({ status: 'noList' }); return; }"
+                    + "  setTimeout(findOption, 25);"
+                    + "})();";
+
+    static {
+        ReportSummary.register("Dropdown option cache", DropdownSelector::describeStats);
+    }
+
+    private DropdownSelector() {
+    }
+
+    /**
+     * Opens the dropdown and clicks the option whose text matches, ignoring case
+     * and surplus whitespace.
+     *
+     * @param driver         The driver to use
+     * @param trigger        The dropdown element, or the XPath it was declared with
+     * @param visibleText    Text of the option to select
+     * @param listItemsXPath XPath matching every option of the open list
+     * @param timeout        Upper bound for the list to render and the selection to show
+     * @throws TimeoutException if the dropdown or its list never appears
+     * @throws RuntimeException if the list rendered without a matching option
+     */
+    @SuppressWarnings("unchecked")
+    public static void select(WebDriver driver, Object trigger, String visibleText, String listItemsXPath,
+                              Duration timeout) {
+        Map<String, Integer> index = trigger instanceof String
+                ? OPTION_INDEX.computeIfAbsent(sessionKey(driver), k -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(trigger + "\n" + listItemsXPath, k -> new ConcurrentHashMap<>())
+                : new HashMap<>();
+        String wanted = normalize(visibleText);
+        int hint = index.getOrDefault(wanted, -1);
+
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                SELECT_SCRIPT, trigger, listItemsXPath, visibleText, hint, timeout.toMillis());
+
+        List<String> options = (List<String>) result.get("options");
+        if (options != null) {
+            SCANS.incrementAndGet();
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = options.size() - 1; i >= 0; i--) {
+                positions.put(options.get(i), i);
+            }
+            index.clear();
+            index.putAll(positions);
+        } else if (hint >= 0 && result.containsKey("index")) {
+            HITS.incrementAndGet();
+        }
+
+        switch (String.valueOf(result.get("status"))) {
+            case "selected":
+                return;
+            case "unconfirmed":
+                throw new TimeoutException("Dropdown did not show '" + visibleText + "' after selecting it");
+            case "noTrigger":
+                throw new TimeoutException("Dropdown element not found for option: " + visibleText);
+            case "noList":
+                throw new TimeoutException("Dropdown list did not appear within " + timeout.toMillis() + " ms: "
+                        + listItemsXPath);
+            default:
+                throw new RuntimeException("Dropdown item not found: " + visibleText
+                        + " (" + (options == null ? 0 : options.size()) + " options listed)");
+        }
+    }
+
+    /**
+     * Drops the cached option positions of a session that is about to be quit.
+     *
+     * @param driver The driver whose session ends
+     */
+    public static void forgetSession(WebDriver driver) {
+        OPTION_INDEX.remove(sessionKey(driver));
+    }
+
+    /**
+     * Describes cache effectiveness for the reports.
+     *
+     * @return Hit and full scan counts
+     */
+    public static String describeStats() {
+        return "hits=" + HITS.get() + ", scans=" + SCANS.get() + ", sessions=" + OPTION_INDEX.size();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.replaceAll("[\\s\\u00A0]+", " ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Decorated drivers wrap the RemoteWebDriver; its session id identifies the browser
+    private static String sessionKey(WebDriver driver) {
+        WebDriver unwrapped = driver;
+        while (unwrapped instanceof WrapsDriver) {
+            unwrapped = ((WrapsDriver) unwrapped).getWrappedDriver();
+        }
+        if (unwrapped instanceof RemoteWebDriver && ((RemoteWebDriver) unwrapped).getSessionId() != null) {
+            return ((RemoteWebDriver) unwrapped).getSessionId().toString();
+        }
+        return String.valueOf(System.identityHashCode(unwrapped));
+    }
+}
@@ -0,0 +1,235 @@
+package pageObject;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import utilities.LoggerUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Injects a fetch/XMLHttpRequest interceptor that keeps an in-flight request
+ * counter and per-request timings in the page, so "network idle and spinner
+ * gone" can be awaited with in-page polling instead of repeated findElements
+ * calls. Completed request timings are collected per test thread for the reports.
+ * <p>
+ * The interceptor must be in place before the request it should count starts,
+ * so page objects install it when they are constructed; on Chromium it is also
+ * registered to run at the start of every new document.
+ */
+public class NetworkActivityTracker {
+    private static final Duration MAX_SCRIPT_WAIT = Duration.ofSeconds(15);
+    private static final int REPORTED_REQUESTS = 10;
+    private static final ThreadLocal<List<RequestTiming>> TIMINGS = ThreadLocal.withInitial(ArrayList::new);
+    private static final Set<WebDriver> NEW_DOCUMENT_HOOKS = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private static final String INSTALL_SCRIPT =
+            "if (!window.__eamataNet) {"
+                    + "  var net = { inflight: 0, idleSince: performance.now(), log: [] };"
+                    + "  var started = function() { net.inflight++; };"
+                    + "  var finished = function(method, url, start, status) {"
+                    + "    net.inflight = Math.max(0, net.inflight - 1);"
+                    + "    if (net.inflight === 0) { net.idleSince = performance.now(); }"
+                    + "    net.log.push({ method: String(method).toUpperCase(), url: String(url), status: status,"
+                    + "      durationMs: Math.round(performance.now() - start) });"
+                    + "    if (net.log.length > 500) { net.log.shift(); }"
+                    + "  };"
+                    + "  if (window.fetch) {"
+                    + "    var originalFetch = window.fetch;"
+                    + "    window.fetch = function(input, init) {"
+                    + "      var method = (init && init.method) || (input && input.method) || 'GET';"
+                    + "      var url = typeof input === 'string' ? input : (input && input.url) || String(input);"
+                    + "      var start = performance.now();"
+                    + "      started();"
+                    + "      return originalFetch.apply(this, arguments).then("
+                    + "        function(response) { finished(method, url, start, response.status); return response; },"
+                    + "        function(error) { finished(method, url, start, 0); throw error; });"
+                    + "    };"
+                    + "  }"
+                    + "  var originalOpen = XMLHttpRequest.prototype.open, originalSend = XMLHttpRequest.prototype.send;"
+                    + "  XMLHttpRequest.prototype.open = function(method, url) {"
+                    + "    this.__eamataRequest = { method: method, url: url };"
+                    + "    return originalOpen.apply(this, arguments);"
+                    + "  };"
+                    + "  XMLHttpRequest.prototype.send = function() {"
+                    + "    var xhr = this, request = xhr.__eamataRequest || { method: 'GET', url: '' };"
+                    + "    var start = performance.now(), done = false;"
+                    + "    var complete = function() { if (!done) { done = true; finished(request.method, request.url, start, xhr.status); } };"
+                    + "    started();"
+                    + "    xhr.addEventListener('loadend', complete);"
+                    + "    try { return originalSend.apply(this, arguments); } catch (e) { complete(); throw e; }"
+                    + "  };"
+                    + "  window.__eamataNet = net;"
+                    + "}";
+
+    private static final String VISIBLE_MATCH_FUNCTION =
+            "var visibleMatch = function(xpath) {"
+                    + "  var nodes = document.evaluate(xpath, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+                    + "  for (var i = 0; i < nodes.snapshotLength; i++) {"
+                    + "    var n = nodes.snapshotItem(i);"
+                    + "    if (n.offsetWidth || n.offsetHeight || n.getClientRects().length) { return true; }"
+                    + "  }"
+                    + "  return false;"
+                    + "};";
+
+    private static final String AWAIT_IDLE_SCRIPT = INSTALL_SCRIPT + VISIBLE_MATCH_FUNCTION
+            + "var xpath = arguments[0], idleMs = arguments[1], timeoutMs = arguments[2];"
+            + "var done = arguments[arguments.length - 1], net = window.__eamataNet, start = performance.now();"
+            + "var drain = function() { return net.log.splice(0, net.log.length); };"
+            + "(function check() {"
+            + "  var now = performance.now();"
+            + "  if (net.inflight === 0 && now - net.idleSince >= idleMs && !visibleMatch(xpath)) {"
+            + "    done({ idle: true, requests: drain() }); return;"
+            + "  }"
+            + "  if (now - start >= timeoutMs) { done({ idle: false, requests: drain() }); return; }"
+            + "  setTimeout(check, 25);"
+            + "})();";
+
+    private static final String IS_VISIBLE_SCRIPT = INSTALL_SCRIPT + VISIBLE_MATCH_FUNCTION
+            + "return visibleMatch(arguments[0]);";
+
+    private NetworkActivityTracker() {
+    }
+
+    /**
+     * Installs the interceptor in the current document and, where the driver
+     * supports CDP, in every document the session loads from now on.
+     *
+     * @param driver The driver to install on
+     */
+    public static void install(WebDriver driver) {
+        HasCdp cdp = cdp(driver);
+        if (cdp != null && NEW_DOCUMENT_HOOKS.add((WebDriver) cdp)) {
+            cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", INSTALL_SCRIPT));
+        }
+        try {
+            ((JavascriptExecutor) driver).executeScript(INSTALL_SCRIPT);
+        } catch (JavascriptException e) {
+            // Document still being replaced; awaitIdle installs it on its first call
+            LoggerUtils.debug("Network tracker not installed yet: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until no tracked request is in flight for the idle window and no
+     * element matching the spinner XPath is visible.
+     *
+     * @param driver       The driver to wait on
+     * @param spinnerXPath XPath of the loading indicator
+     * @param idleWindow   How long the network must stay idle
+     * @param timeout      Upper bound on the wait
+     * @throws TimeoutException if the page is still busy when the timeout elapses
+     */
+    @SuppressWarnings("unchecked")
+    public static void awaitIdle(WebDriver driver, String spinnerXPath, Duration idleWindow, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+            if (remainingMillis <= 0) {
+                throw new TimeoutException("Page still busy after " + timeout.toMillis() + " ms (network or progress bar)");
+            }
+            try {
+                // Chunked so a single call never runs into the driver's script timeout
+                Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                        AWAIT_IDLE_SCRIPT, spinnerXPath, idleWindow.toMillis(),
+                        Math.min(remainingMillis, MAX_SCRIPT_WAIT.toMillis()));
+                record((List<Map<String, Object>>) result.get("requests"));
+                if (Boolean.TRUE.equals(result.get("idle"))) {
+                    return;
+                }
+            } catch (TimeoutException | NoSuchSessionException | UnreachableBrowserException e) {
+                // Retrying cannot help once the session or browser is gone
+                throw e;
+            } catch (WebDriverException e) {
+                // A navigation replaced the document; the next call re-installs the tracker
+                LoggerUtils.debug("Network idle check interrupted: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Checks in a single script call whether any element matching the XPath is visible.
+     *
+     * @param driver The driver to query
+     * @param xpath  XPath of the element
+     * @return true if at least one match is visible
+     */
+    public static boolean isVisible(WebDriver driver, String xpath) {
+        return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(IS_VISIBLE_SCRIPT, xpath));
+    }
+
+    /**
+     * Discards the timings collected on the calling thread. Called after a
+     * test's teardown, so the next test's timings include its setup.
+     */
+    public static void resetTimings() {
+        TIMINGS.get().clear();
+    }
+
+    /**
+     * Summarizes the slowest backend calls recorded on the calling thread.
+     *
+     * @return A plain text table, or null if no request was recorded
+     */
+    public static String describeSlowestRequests() {
+        List<RequestTiming> timings = TIMINGS.get();
+        if (timings.isEmpty()) {
+            return null;
+        }
+        long totalMillis = timings.stream().mapToLong(RequestTiming::durationMillis).sum();
+        String slowest = timings.stream()
+                .sorted(Comparator.comparingLong(RequestTiming::durationMillis).reversed())
+                .limit(REPORTED_REQUESTS)
+                .map(t -> String.format("%6d ms  %3d  %-6s %s", t.durationMillis(), t.status(), t.method(), t.url()))
+                .collect(Collectors.joining("\n"));
+        return timings.size() + " requests, " + totalMillis + " ms total\n" + slowest;
+    }
+
+    private static HasCdp cdp(WebDriver driver) {
+        WebDriver current = driver;
+        while (true) {
+            if (current instanceof HasCdp) {
+                return (HasCdp) current;
+            }
+            if (!(current instanceof WrapsDriver)) {
+                return null;
+            }
+            current = ((WrapsDriver) current).getWrappedDriver();
+        }
+    }
+
+    private static void record(List<Map<String, Object>> requests) {
+        if (requests == null) {
+            return;
+        }
+        List<RequestTiming> timings = TIMINGS.get();
+        for (Map<String, Object> request : requests) {
+            timings.add(new RequestTiming(
+                    String.valueOf(request.get("method")),
+                    String.valueOf(request.get("url")),
+                    ((Number) request.get("status")).intValue(),
+                    ((Number) request.get("durationMs")).longValue()));
+        }
+    }
+
+    /**
+     * Timing of one completed fetch or XMLHttpRequest call.
+     */
+    public record RequestTiming(String method, String url, int status, long durationMillis) {
+    }
+}
@@ -4,11 +4,13 @@ import io.qameta.allure.Step;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import testBase.BaseClass;
 import utilities.Address;
 import utilities.LoggerUtils;
 
+import java.util.List;
+import java.util.Map;
+
 public class ProviderGroupPage extends BasePage {
 
     // Navigation Elements
@@ -78,7 +80,6 @@ public class ProviderGroupPage extends BasePage {
 
     public ProviderGroupPage(WebDriver driver) {
         super();
-        PageFactory.initElements(driver, this);
         LoggerUtils.debug("Initialized ProviderGroupPage");
     }
 
@@ -109,11 +110,12 @@ public class ProviderGroupPage extends BasePage {
 
     // Input Field Methods
     private void fillProviderGroupDetails(String name, String email, String phone, String npi, String subDomain) {
-        setInputField(nameInputField, name);
-        setInputField(emailInputField, email);
-        setInputField(phoneNumberInputField, phone);
-        setInputField(npiNumberInputField, npi);
-        setInputField(subDomainInputField, subDomain);
+        fillForm(List.of(
+                Map.entry(nameInputField, name),
+                Map.entry(emailInputField, email),
+                Map.entry(phoneNumberInputField, phone),
+                Map.entry(npiNumberInputField, npi),
+                Map.entry(subDomainInputField, subDomain)));
     }
 
     // Combined Action Methods
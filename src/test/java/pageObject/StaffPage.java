@@ -5,11 +5,13 @@ import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import testBase.BaseClass;
 import utilities.Address;
 import utilities.LoggerUtils;
 
+import java.util.List;
+import java.util.Map;
+
 public class StaffPage extends BasePage {
 
     // Constants
@@ -72,7 +74,6 @@ public class StaffPage extends BasePage {
 
     public StaffPage(WebDriver driver) {
         super();
-        PageFactory.initElements(driver, this);
         LoggerUtils.debug("Initialized StaffPage");
     }
 
@@ -95,10 +96,11 @@ public class StaffPage extends BasePage {
     // Input Field Methods
     private void fillStaffInformation(String firstName, String lastName, String email, String phoneNumber, String role,
                                       String gender) {
-        setInputField(firstNameInputField, firstName);
-        setInputField(lastNameInputField, lastName);
-        setInputField(emailInputField, email);
-        setInputField(phoneNumberInputField, phoneNumber);
+        fillForm(List.of(
+                Map.entry(firstNameInputField, firstName),
+                Map.entry(lastNameInputField, lastName),
+                Map.entry(emailInputField, email),
+                Map.entry(phoneNumberInputField, phoneNumber)));
         selectDropdownByVisibleText(roleDropdownButton, role, ROLE_LIST_XPATH);
         selectDropdownByVisibleText(genderDropdownButton, gender, GENDER_LIST_XPATH);
     }
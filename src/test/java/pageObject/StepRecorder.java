@@ -0,0 +1,249 @@
+package pageObject;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import testBase.BaseClass;
+import utilities.LoggerUtils;
+import utilities.ReportSummary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in (StepRecorder=true) recorder of low-resolution screenshots taken after
+ * page-object actions, so a failure report shows how the page got into its
+ * final state. Each test thread keeps its last StepRecorderFrames frames in
+ * memory; they are handed to the reports only when the test fails.
+ * <p>
+ * A frame is skipped when the DOM generation counter of {@link DomObserver} has
+ * not moved since the previous frame or when the previous frame is younger than
+ * StepRecorderMinIntervalMs. Chromium browsers are captured through CDP as a
+ * half-scale JPEG; other browsers fall back to the regular PNG screenshot.
+ */
+public final class StepRecorder {
+    private static final String STATE_SCRIPT = DomObserver.INSTALL_SCRIPT
+            + "var state = window.__eamataDom, view = window.visualViewport;"
+            + "return [state.id + ':' + state.generation, window.innerWidth, window.innerHeight,"
+            + "  view ? view.pageLeft : window.scrollX, view ? view.pageTop : window.scrollY];";
+    private static final Path FRAMES_DIR = Paths.get(System.getProperty("user.dir"), "screenshots", "steps");
+    private static final double CDP_SCALE = 0.5;
+    private static final int CDP_JPEG_QUALITY = 40;
+
+    private static final ThreadLocal<Recording> RECORDINGS = ThreadLocal.withInitial(Recording::new);
+
+    private static final AtomicLong FRAMES = new AtomicLong();
+    private static final AtomicLong UNCHANGED = new AtomicLong();
+    private static final AtomicLong THROTTLED = new AtomicLong();
+    private static final AtomicLong CAPTURE_NANOS = new AtomicLong();
+    private static final AtomicLong PERSISTED = new AtomicLong();
+
+    static {
+        ReportSummary.register("Step recorder", StepRecorder::describeStats);
+    }
+
+    private StepRecorder() {
+    }
+
+    /**
+     * Records a frame after an action, unless recording is off or throttled.
+     * Never fails the action.
+     *
+     * @param driver The driver the action ran on
+     * @param action The action, e.g. "clickButton"
+     * @param target The page-object field or locator acted on, may be null
+     */
+    public static void afterAction(WebDriver driver, String action, String target) {
+        if (driver == null || !isEnabled()) {
+            return;
+        }
+        Recording recording = RECORDINGS.get();
+        long now = System.nanoTime();
+        if (recording.lastFrameNanos != 0 && now - recording.lastFrameNanos < minIntervalNanos()) {
+            THROTTLED.incrementAndGet();
+            return;
+        }
+        try {
+            List<?> state = (List<?>) ((JavascriptExecutor) driver).executeScript(STATE_SCRIPT);
+            String token = (String) state.get(0);
+            if (token.equals(recording.lastToken)) {
+                UNCHANGED.incrementAndGet();
+                return;
+            }
+            Frame frame = capture(driver, action, target, ((Number) state.get(1)).intValue(),
+                    ((Number) state.get(2)).intValue(), ((Number) state.get(3)).doubleValue(),
+                    ((Number) state.get(4)).doubleValue());
+            recording.add(frame, frameLimit());
+            recording.lastToken = token;
+            recording.lastFrameNanos = System.nanoTime();
+            FRAMES.incrementAndGet();
+            CAPTURE_NANOS.addAndGet(recording.lastFrameNanos - now);
+        } catch (WebDriverException | ClassCastException | IndexOutOfBoundsException e) {
+            LoggerUtils.debug("Step frame after {} skipped: {}", action, e.getMessage());
+        }
+    }
+
+    /**
+     * Discards the calling thread's frames at the start of a test or after it passed.
+     */
+    public static void reset() {
+        RECORDINGS.remove();
+    }
+
+    /**
+     * Takes the calling thread's frames for a failed test and discards them. The
+     * frames stay in memory; {@link StepFrame#save()} writes one out.
+     *
+     * @return The frames, oldest first; empty if nothing was recorded
+     */
+    public static List<StepFrame> drain() {
+        Recording recording = RECORDINGS.get();
+        RECORDINGS.remove();
+        List<StepFrame> frames = new ArrayList<>(recording.frames.size());
+        int step = 1;
+        for (Frame frame : recording.frames) {
+            String label = "Step " + step++ + ": " + frame.action + (frame.target != null ? " " + frame.target : "");
+            frames.add(new StepFrame(label, frame.image, frame.extension));
+        }
+        return frames;
+    }
+
+    /**
+     * Describes recorder overhead for the reports.
+     *
+     * @return Frame, skip and capture time statistics
+     */
+    public static String describeStats() {
+        long frames = FRAMES.get();
+        long captureMs = TimeUnit.NANOSECONDS.toMillis(CAPTURE_NANOS.get());
+        return "frames=" + frames + ", skippedUnchanged=" + UNCHANGED.get() + ", skippedInterval=" + THROTTLED.get()
+                + ", captureMs=" + captureMs + (frames > 0 ? " (" + captureMs / frames + " ms/frame)" : "")
+                + ", persisted=" + PERSISTED.get();
+    }
+
+    // The CDP clip is in document coordinates, so it starts at the scroll offset to show what the user sees
+    private static Frame capture(WebDriver driver, String action, String target, int width, int height,
+                                 double scrollX, double scrollY) {
+        HasCdp cdp = cdp(driver);
+        if (cdp != null && width > 0 && height > 0) {
+            Map<String, Object> clip = Map.of("x", scrollX, "y", scrollY, "width", width, "height", height,
+                    "scale", CDP_SCALE);
+            Map<String, Object> result = cdp.executeCdpCommand("Page.captureScreenshot",
+                    Map.of("format", "jpeg", "quality", CDP_JPEG_QUALITY, "clip", clip));
+            byte[] jpeg = Base64.getDecoder().decode((String) result.get("data"));
+            return new Frame(action, target, jpeg, "jpg");
+        }
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        return new Frame(action, target, png, "png");
+    }
+
+    private static HasCdp cdp(WebDriver driver) {
+        WebDriver current = driver;
+        while (true) {
+            if (current instanceof HasCdp) {
+                return (HasCdp) current;
+            }
+            if (!(current instanceof WrapsDriver)) {
+                return null;
+            }
+            current = ((WrapsDriver) current).getWrappedDriver();
+        }
+    }
+
+    private static boolean isEnabled() {
+        return BaseClass.properties != null
+                && Boolean.parseBoolean(BaseClass.properties.getProperty("StepRecorder", "false"));
+    }
+
+    private static int frameLimit() {
+        return Math.max(1, Integer.parseInt(BaseClass.properties.getProperty("StepRecorderFrames", "10").trim()));
+    }
+
+    private static long minIntervalNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(
+                Long.parseLong(BaseClass.properties.getProperty("StepRecorderMinIntervalMs", "200").trim()));
+    }
+
+    private static String contentHash(byte[] image) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(image), 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A frame handed over for a failed test.
+     *
+     * @param label     "Step n: action target"
+     * @param image     The image bytes
+     * @param extension "jpg" or "png"
+     */
+    public record StepFrame(String label, byte[] image, String extension) {
+
+        /**
+         * Gets the MIME type of the image.
+         *
+         * @return "image/jpeg" or "image/png"
+         */
+        public String mimeType() {
+            return extension.equals("png") ? "image/png" : "image/jpeg";
+        }
+
+        /**
+         * Writes the frame to screenshots/steps unless the same image is already there.
+         *
+         * @return The image file
+         * @throws UncheckedIOException if the file cannot be written
+         */
+        public Path save() {
+            // Content-addressed, so parallel failures never collide and repeated frames are stored once
+            Path path = FRAMES_DIR.resolve(contentHash(image) + "." + extension);
+            try {
+                if (!Files.exists(path)) {
+                    Files.createDirectories(FRAMES_DIR);
+                    Files.write(path, image);
+                    PERSISTED.incrementAndGet();
+                }
+                return path;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write step frame " + path, e);
+            }
+        }
+    }
+
+    private record Frame(String action, String target, byte[] image, String extension) {
+    }
+
+    // Per-thread ring of the most recent frames
+    private static final class Recording {
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private String lastToken;
+        private long lastFrameNanos;
+
+        private void add(Frame frame, int limit) {
+            while (frames.size() >= limit) {
+                frames.removeFirst();
+            }
+            frames.addLast(frame);
+        }
+    }
+}
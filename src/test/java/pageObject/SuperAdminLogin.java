@@ -7,8 +7,13 @@ import utilities.LoggerUtils;
 
 public class SuperAdminLogin extends BasePage {
 
+    // Locators shared with the cached-session check in AuthSessionCache
+    public static final String EMAIL_INPUT_XPATH = "//input[@placeholder='Enter Your Email']";
+    public static final String PROVIDER_GROUPS_XPATH =
+            "//span[contains(@class, 'MuiTypography-bodySmall') and normalize-space()='Provider Groups']";
+
     // Input Fields
-    @FindBy(xpath = "//input[@placeholder='Enter Your Email']")
+    @FindBy(xpath = EMAIL_INPUT_XPATH)
     private WebElement emailInputField;
 
     @FindBy(xpath = "//input[@placeholder='Enter your Password']")
@@ -19,7 +24,7 @@ public class SuperAdminLogin extends BasePage {
     private WebElement loginButton;
 
     // Success Messages
-    @FindBy(xpath = "//span[contains(@class, 'MuiTypography-bodySmall') and normalize-space()='Provider Groups']")
+    @FindBy(xpath = PROVIDER_GROUPS_XPATH)
     private WebElement providerGroupsText;
 
     // Validation Messages
@@ -12,28 +12,34 @@ import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
+import pageObject.DropdownSelector;
+import pageObject.NetworkActivityTracker;
+import utilities.CommandProfiler;
 import utilities.LoggerUtils;
+import utilities.ReportSummary;
+import utilities.ScreenshotPipeline;
+import utilities.TestArtifacts;
+import utilities.TestDataPrefetcher;
 
-import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
-import java.text.SimpleDateFormat;
+import java.io.UncheckedIOException;
 import java.time.Duration;
-import java.util.Date;
 import java.util.Properties;
+import java.util.concurrent.CompletionException;
 
 public class BaseClass {
     private static final String CONFIG_FILE_PATH = "./src/test/resources/config.properties";
-    private static final String SCREENSHOTS_DIR = "screenshots";
     private static final Duration IMPLICIT_WAIT = Duration.ofSeconds(10);
     private static final Duration EXPLICIT_WAIT = Duration.ofSeconds(20);
     private static final ThreadLocal<WebDriverWait> threadLocalWait = new ThreadLocal<>();
     private static final ThreadLocal<WebDriver> threadLocalDriver = new ThreadLocal<>();
+    private static DriverPool driverPool;
     public static Properties properties;
 
     public static WebDriver getDriver() {
@@ -53,6 +59,10 @@ public class BaseClass {
                 properties.load(file);
                 LoggerUtils.info("Configuration loaded successfully");
             }
+            initializeDriverPool();
+            if (Boolean.parseBoolean(properties.getProperty("TestDataPrefetch", "false"))) {
+                TestDataPrefetcher.start(Integer.parseInt(properties.getProperty("TestDataPrefetchDepth", "4").trim()));
+            }
         } catch (IOException e) {
             LoggerUtils.error("Failed to load configuration file: " + e.getMessage());
             throw new RuntimeException("Failed to load configuration file", e);
@@ -62,49 +72,19 @@ public class BaseClass {
     @BeforeMethod(alwaysRun = true)
     public void initializeDriver() {
         try {
-            WebDriver driver;
-            String browser = properties.getProperty("browser", "chrome").toLowerCase();
-            switch (browser) {
-                case "chrome":
-                    WebDriverManager.chromedriver().setup();
-                    ChromeOptions chromeOpts = new ChromeOptions();
-                    if (Boolean.parseBoolean(properties.getProperty("Headless"))) {
-                        chromeOpts.addArguments("--headless=new");
-                        chromeOpts.addArguments("--window-size=1920,1080");
-                        chromeOpts.addArguments("--disable-gpu");
-                        chromeOpts.addArguments("--no-sandbox");
-                        chromeOpts.addArguments("--disable-dev-shm-usage");
-                    }
-                    driver = new ChromeDriver(chromeOpts);
-                    break;
-                case "firefox":
-                    WebDriverManager.firefoxdriver().setup();
-                    FirefoxOptions firefoxOpts = new FirefoxOptions();
-                    if (Boolean.parseBoolean(properties.getProperty("Headless"))) {
-                        firefoxOpts.addArguments("--headless");
-                    }
-                    driver = new FirefoxDriver(firefoxOpts);
-                    break;
-                case "edge":
-                    WebDriverManager.edgedriver().setup();
-                    EdgeOptions edgeOpts = new EdgeOptions();
-                    if (Boolean.parseBoolean(properties.getProperty("Headless"))) {
-                        edgeOpts.addArguments("--headless=new");
-                    }
-                    driver = new EdgeDriver(edgeOpts);
-                    break;
-                case "safari":
-                    driver = new SafariDriver();
-                    break;
-                default:
-                    throw new IllegalArgumentException("Invalid Browser: " + browser);
+            WebDriver driver = driverPool != null ? driverPool.lease() : launchDriver();
+            if (Boolean.parseBoolean(properties.getProperty("CommandProfiler", "false"))) {
+                driver = CommandProfiler.decorate(driver);
             }
             threadLocalDriver.set(driver);
             threadLocalWait.set(new WebDriverWait(driver, EXPLICIT_WAIT));
+            // Before navigating, so the app's first requests are already counted
+            NetworkActivityTracker.install(driver);
 
-            getDriver().manage().window().maximize();
-            getDriver().manage().timeouts().implicitlyWait(IMPLICIT_WAIT);
-            getDriver().get(properties.getProperty("url"));
+            // Pooled sessions are handed out already positioned on the start URL
+            if (driverPool == null) {
+                getDriver().get(properties.getProperty("url"));
+            }
             waitForPageLoad();
         } catch (Exception e) {
             LoggerUtils.error("Failed to initialize WebDriver: " + e.getMessage());
@@ -114,11 +94,21 @@ public class BaseClass {
 
     @AfterMethod(alwaysRun = true)
     @Step("Cleaning up WebDriver resources")
-    public void tearDown() {
+    public void tearDown(ITestResult result) {
         try {
             WebDriver driver = getDriver();
             if (driver != null) {
-                driver.quit();
+                if (result.getStatus() == ITestResult.FAILURE) {
+                    // Normally a no-op returning what the listeners collected in onTestFailure; it only reads
+                    // from the browser when the suite runs without them, before the driver is released
+                    TestArtifacts.collect(result);
+                }
+                if (driverPool != null) {
+                    driverPool.release(result.getThrowable());
+                } else {
+                    DropdownSelector.forgetSession(driver);
+                    driver.quit();
+                }
                 threadLocalDriver.remove();
                 threadLocalWait.remove();
                 LoggerUtils.info("WebDriver resources cleaned up successfully");
@@ -128,6 +118,69 @@ public class BaseClass {
         }
     }
 
+    @AfterSuite(alwaysRun = true)
+    public void shutdownDriverPool() {
+        TestDataPrefetcher.stop();
+        if (driverPool != null) {
+            driverPool.shutdown();
+            driverPool = null;
+        }
+    }
+
+    private static void initializeDriverPool() {
+        if (!Boolean.parseBoolean(properties.getProperty("SessionPool", "false"))) {
+            return;
+        }
+        int poolSize = Integer.parseInt(properties.getProperty("SessionPoolSize", "3").trim());
+        int maxTestsPerSession = Integer.parseInt(properties.getProperty("SessionMaxTestsPerSession", "25").trim());
+        driverPool = new DriverPool(BaseClass::launchDriver, properties.getProperty("url"), poolSize, maxTestsPerSession);
+        ReportSummary.register("Session Pool", driverPool::describeStats);
+        LoggerUtils.info("Session pool enabled with " + poolSize + " sessions");
+    }
+
+    private static WebDriver launchDriver() {
+        WebDriver driver;
+        String browser = properties.getProperty("browser", "chrome").toLowerCase();
+        switch (browser) {
+            case "chrome":
+                WebDriverManager.chromedriver().setup();
+                ChromeOptions chromeOpts = new ChromeOptions();
+                if (Boolean.parseBoolean(properties.getProperty("Headless"))) {
+                    chromeOpts.addArguments("--headless=new");
+                    chromeOpts.addArguments("--window-size=1920,1080");
+                    chromeOpts.addArguments("--disable-gpu");
+                    chromeOpts.addArguments("--no-sandbox");
+                    chromeOpts.addArguments("--disable-dev-shm-usage");
+                }
+                driver = new ChromeDriver(chromeOpts);
+                break;
+            case "firefox":
+                WebDriverManager.firefoxdriver().setup();
+                FirefoxOptions firefoxOpts = new FirefoxOptions();
+                if (Boolean.parseBoolean(properties.getProperty("Headless"))) {
+                    firefoxOpts.addArguments("--headless");
+                }
+                driver = new FirefoxDriver(firefoxOpts);
+                break;
+            case "edge":
+                WebDriverManager.edgedriver().setup();
+                EdgeOptions edgeOpts = new EdgeOptions();
+                if (Boolean.parseBoolean(properties.getProperty("Headless"))) {
+                    edgeOpts.addArguments("--headless=new");
+                }
+                driver = new EdgeDriver(edgeOpts);
+                break;
+            case "safari":
+                driver = new SafariDriver();
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid Browser: " + browser);
+        }
+        driver.manage().window().maximize();
+        driver.manage().timeouts().implicitlyWait(IMPLICIT_WAIT);
+        return driver;
+    }
+
     // Helper methods for waiting
     public void waitForPageLoad() {
         try {
@@ -142,7 +195,7 @@ public class BaseClass {
     public void waitForElementToBeClickable(By locator) {
         try {
             getWait().until(ExpectedConditions.elementToBeClickable(locator));
-            LoggerUtils.info("Element is clickable: " + locator);
+            LoggerUtils.info("Element is clickable: {}", locator);
         } catch (TimeoutException e) {
             LoggerUtils.error("Timeout waiting for element to be clickable: " + locator);
             throw e;
@@ -152,7 +205,7 @@ public class BaseClass {
     public void waitForElementToBeVisible(By locator) {
         try {
             getWait().until(ExpectedConditions.visibilityOfElementLocated(locator));
-            LoggerUtils.info("Element is visible: " + locator);
+            LoggerUtils.info("Element is visible: {}", locator);
         } catch (TimeoutException e) {
             LoggerUtils.error("Timeout waiting for element to be visible: " + locator);
             throw e;
@@ -162,7 +215,7 @@ public class BaseClass {
     public void waitForElementToBePresent(By locator) {
         try {
             getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
-            LoggerUtils.info("Element is present: " + locator);
+            LoggerUtils.info("Element is present: {}", locator);
         } catch (TimeoutException e) {
             LoggerUtils.error("Timeout waiting for element to be present: " + locator);
             throw e;
@@ -170,18 +223,14 @@ public class BaseClass {
     }
 
     public String captureScreen(String testName) throws IOException {
-        String timestamp = new SimpleDateFormat("yyyy.MM.dd.hh.mm.ss").format(new Date());
-        String screenshotPath = System.getProperty("user.dir") + "/" + SCREENSHOTS_DIR + "/" + testName + "_" + timestamp + ".png";
-
-        File screenshotsDir = new File(System.getProperty("user.dir") + "/" + SCREENSHOTS_DIR);
-        if (!screenshotsDir.exists() && !screenshotsDir.mkdirs()) {
-            throw new IOException("Failed to create screenshots directory: " + screenshotsDir.getAbsolutePath());
+        // Encoded in the background under a content-addressed name (see ScreenshotPipeline); waits so the file exists
+        try {
+            return ScreenshotPipeline.capture(getDriver(), testName).getFile().join().toString();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException failure) {
+                throw failure.getCause();
+            }
+            throw e;
         }
-
-        TakesScreenshot takesScreenshot = (TakesScreenshot) getDriver();
-        File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-        File targetFile = new File(screenshotPath);
-        Files.copy(sourceFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-        return screenshotPath;
     }
 }
\ No newline at end of file
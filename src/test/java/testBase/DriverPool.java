@@ -0,0 +1,257 @@
+package testBase;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import pageObject.DropdownSelector;
+import utilities.LoggerUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of warm WebDriver sessions shared by the worker threads of a suite.
+ * Each worker leases one session per test method; on release the session is reset
+ * (cookies, web storage, extra windows, navigation back to the start URL) and kept
+ * for the next test instead of being quit.
+ */
+public class DriverPool {
+    private static final Duration LEASE_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration IDLE_POLL = Duration.ofMillis(250);
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+                    + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final Supplier<WebDriver> factory;
+    private final String homeUrl;
+    private final int maxTestsPerSession;
+    private final Semaphore capacity;
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledSession> live = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<PooledSession> leased = new ThreadLocal<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong launchNanos = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong resetFailures = new AtomicLong();
+
+    /**
+     * Creates a pool.
+     *
+     * @param factory            Launches a new, fully configured browser session
+     * @param homeUrl            URL every leased session starts from
+     * @param maxSessions        Upper bound on concurrently open sessions
+     * @param maxTestsPerSession Number of tests after which a session is quit and relaunched
+     */
+    public DriverPool(Supplier<WebDriver> factory, String homeUrl, int maxSessions, int maxTestsPerSession) {
+        if (maxSessions < 1 || maxTestsPerSession < 1) {
+            throw new IllegalArgumentException("Pool size and tests per session must be positive");
+        }
+        this.factory = factory;
+        this.homeUrl = homeUrl;
+        this.maxTestsPerSession = maxTestsPerSession;
+        this.capacity = new Semaphore(maxSessions);
+    }
+
+    /**
+     * Leases a session to the calling thread. Reuses an idle session when one is
+     * available, launches a new one while below capacity, and otherwise waits for
+     * another worker to release its session or to discard one, which frees capacity.
+     *
+     * @return A driver positioned on the start URL
+     */
+    public WebDriver lease() {
+        if (leased.get() != null) {
+            throw new IllegalStateException("Thread already holds a pooled session");
+        }
+        PooledSession session = acquire();
+        session.testsServed++;
+        leased.set(session);
+        return session.driver;
+    }
+
+    /**
+     * Returns the calling thread's session to the pool, or quits it when it has
+     * served its quota, hit an unrecoverable error, or cannot be reset.
+     *
+     * @param failure The test failure, if any; used to decide whether the session is still usable
+     */
+    public void release(Throwable failure) {
+        PooledSession session = leased.get();
+        if (session == null) {
+            return;
+        }
+        leased.remove();
+
+        if (isUnrecoverable(failure)) {
+            LoggerUtils.warn("Recycling pooled session after unrecoverable error: " + failure.getMessage());
+            discard(session);
+            return;
+        }
+        if (session.testsServed >= maxTestsPerSession) {
+            LoggerUtils.info("Recycling pooled session after " + session.testsServed + " tests");
+            discard(session);
+            return;
+        }
+        try {
+            reset(session.driver);
+            idle.offerFirst(session);
+        } catch (Exception e) {
+            resetFailures.incrementAndGet();
+            LoggerUtils.warn("Failed to reset pooled session, recycling it: " + e.getMessage());
+            discard(session);
+        }
+    }
+
+    /**
+     * Quits every session owned by the pool.
+     */
+    public void shutdown() {
+        for (PooledSession session : new ArrayList<>(live)) {
+            quit(session);
+        }
+        idle.clear();
+        LoggerUtils.info("Driver pool shut down: " + describeStats());
+    }
+
+    /**
+     * Describes hit/miss counts and launch cost for the reports.
+     *
+     * @return Human readable statistics
+     */
+    public String describeStats() {
+        long launched = misses.get();
+        long avgLaunchMillis = launched == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(launchNanos.get()) / launched;
+        return "hits=" + hits.get()
+                + ", misses=" + launched
+                + ", avgLaunchMs=" + avgLaunchMillis
+                + ", totalLaunchMs=" + TimeUnit.NANOSECONDS.toMillis(launchNanos.get())
+                + ", recycled=" + recycled.get()
+                + ", resetFailures=" + resetFailures.get();
+    }
+
+    /**
+     * Checks whether a failure means the browser session can no longer be trusted.
+     *
+     * @param failure The failure to inspect, may be null
+     * @return true if the session should be quit rather than reused
+     */
+    static boolean isUnrecoverable(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof NoSuchSessionException
+                    || t instanceof SessionNotCreatedException
+                    || t instanceof UnreachableBrowserException
+                    || t instanceof NoSuchWindowException) {
+                return true;
+            }
+            if (t instanceof WebDriverException && t.getMessage() != null
+                    && (t.getMessage().contains("not reachable") || t.getMessage().contains("disconnected"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Released sessions land in idle, discarded ones free capacity; a waiter checks both until the timeout
+    private PooledSession acquire() {
+        long deadline = System.nanoTime() + LEASE_TIMEOUT.toNanos();
+        PooledSession session = idle.pollFirst();
+        try {
+            while (session == null) {
+                if (capacity.tryAcquire()) {
+                    misses.incrementAndGet();
+                    return launch();
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Timed out waiting for a pooled WebDriver session");
+                }
+                session = idle.pollFirst(Math.min(remaining, IDLE_POLL.toNanos()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled WebDriver session", e);
+        }
+        hits.incrementAndGet();
+        return session;
+    }
+
+    private PooledSession launch() {
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = factory.get();
+            driver.get(homeUrl);
+            PooledSession session = new PooledSession(driver);
+            live.add(session);
+            return session;
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        } finally {
+            launchNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private void reset(WebDriver driver) {
+        try {
+            driver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException e) {
+            // Nothing to dismiss
+        }
+
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        for (int i = 1; i < handles.size(); i++) {
+            driver.switchTo().window(handles.get(i)).close();
+        }
+        driver.switchTo().window(handles.get(0));
+
+        // Cookies and storage are per origin, so clear them on the app's origin, not where the test ended
+        driver.get(homeUrl);
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+        driver.navigate().refresh();
+    }
+
+    private void discard(PooledSession session) {
+        recycled.incrementAndGet();
+        quit(session);
+    }
+
+    private void quit(PooledSession session) {
+        if (!live.remove(session)) {
+            return;
+        }
+        try {
+            DropdownSelector.forgetSession(session.driver);
+            session.driver.quit();
+        } catch (Exception e) {
+            LoggerUtils.warn("Failed to quit pooled session: " + e.getMessage());
+        } finally {
+            capacity.release();
+        }
+    }
+
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private int testsServed;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
@@ -4,45 +4,27 @@ import io.qameta.allure.Description;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import org.testng.Assert;
+import org.testng.ITestResult;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import pageObject.StaffPage;
 import testBase.BaseClass;
+import utilities.AddressData;
 import utilities.ErrorMessages;
 import utilities.LoginUtils;
-import utilities.TestDataGenerator;
+import utilities.StaffData;
+import utilities.TestDataPrefetcher;
 
 public class TC003_AddStaff extends BaseClass {
 
     private StaffPage staffPage;
-    private String firstName;
-    private String lastName;
-    private String email;
-    private String phoneNumber;
-    private String role;
-    private String gender;
-    private String addressLine1;
-    private String addressLine2;
-    private String state;
-    private String city;
-    private String zipCode;
+    private StaffData staff;
 
     @BeforeMethod
-    public void setup() {
+    public void setup(ITestResult result) {
         LoginUtils.loginAsSuperAdmin();
-        TestDataGenerator data = new TestDataGenerator();
         staffPage = new StaffPage(getDriver());
-        firstName = data.generateRandomFirstName();
-        lastName = data.generateRandomLastName();
-        email = data.generateEmail("staff");
-        phoneNumber = data.generatePhoneNumber();
-        role = properties.getProperty("StaffRole");
-        gender = properties.getProperty("Gender");
-        addressLine1 = data.generateAddressLine1();
-        addressLine2 = data.generateAddressLine2();
-        state = properties.getProperty("State");
-        city = data.generateCity();
-        zipCode = data.generateZipCode();
+        staff = TestDataPrefetcher.nextStaff(result);
     }
 
     @Test(priority = 1, groups = {"smoke", "regression"})
@@ -50,8 +32,10 @@ public class TC003_AddStaff extends BaseClass {
     @Severity(SeverityLevel.CRITICAL)
     public void testAddStaffWithValidDetails() {
 
-        staffPage.addStaff(firstName, lastName, email, phoneNumber, role, gender,
-                addressLine1, addressLine2, city, zipCode, state);
+        AddressData address = staff.address();
+        staffPage.addStaff(staff.firstName(), staff.lastName(), staff.email(), staff.phone(),
+                staff.role(), staff.gender(), address.line1(), address.line2(), address.city(),
+                address.zipCode(), address.state());
 
         String expectedMessage = "User added successfully!";
         // User added successfully!
@@ -67,8 +51,10 @@ public class TC003_AddStaff extends BaseClass {
     @Severity(SeverityLevel.NORMAL)
     public void testAddStaffWithEmptyFirstName() {
 
-        staffPage.addStaff("", lastName, email, phoneNumber, role, gender,
-                addressLine1, addressLine2, city, zipCode, state);
+        AddressData address = staff.address();
+        staffPage.addStaff("", staff.lastName(), staff.email(), staff.phone(),
+                staff.role(), staff.gender(), address.line1(), address.line2(), address.city(),
+                address.zipCode(), address.state());
 
         Assert.assertEquals(staffPage.getFirstNameRequiredError(), ErrorMessages.FIRST_NAME_REQUIRED);
 
@@ -79,8 +65,10 @@ public class TC003_AddStaff extends BaseClass {
     @Severity(SeverityLevel.NORMAL)
     public void testAddStaffWithEmptyLastName() {
 
-        staffPage.addStaff(firstName, "", email, phoneNumber, role, gender,
-                addressLine1, addressLine2, city, zipCode, state);
+        AddressData address = staff.address();
+        staffPage.addStaff(staff.firstName(), "", staff.email(), staff.phone(),
+                staff.role(), staff.gender(), address.line1(), address.line2(), address.city(),
+                address.zipCode(), address.state());
 
         Assert.assertEquals(staffPage.getLastNameRequiredError(), ErrorMessages.LAST_NAME_REQUIRED);
 
@@ -91,8 +79,10 @@ public class TC003_AddStaff extends BaseClass {
     @Severity(SeverityLevel.NORMAL)
     public void testAddStaffWithEmptyEmail() {
 
-        staffPage.addStaff(firstName, lastName, "", phoneNumber, role, gender,
-                addressLine1, addressLine2, city, zipCode, state);
+        AddressData address = staff.address();
+        staffPage.addStaff(staff.firstName(), staff.lastName(), "", staff.phone(),
+                staff.role(), staff.gender(), address.line1(), address.line2(), address.city(),
+                address.zipCode(), address.state());
 
         String expectedError = "Email is required";
         String actualError = staffPage.getEmailRequiredError();
@@ -108,8 +98,10 @@ public class TC003_AddStaff extends BaseClass {
     @Severity(SeverityLevel.NORMAL)
     public void testAddStaffWithEmptyPhoneNumber() {
 
-        staffPage.addStaff(firstName, lastName, email, "", role, gender,
-                addressLine1, addressLine2, city, zipCode, state);
+        AddressData address = staff.address();
+        staffPage.addStaff(staff.firstName(), staff.lastName(), staff.email(), "",
+                staff.role(), staff.gender(), address.line1(), address.line2(), address.city(),
+                address.zipCode(), address.state());
 
         String expectedError = "Phone is required";
         String actualError = staffPage.getPhoneRequiredError();
@@ -125,8 +117,10 @@ public class TC003_AddStaff extends BaseClass {
     @Severity(SeverityLevel.NORMAL)
     public void testAddStaffWithInvalidPhoneNumber() {
 
-        staffPage.addStaff(firstName, lastName, email, "12345", role, gender,
-                addressLine1, addressLine2, city, zipCode, state);
+        AddressData address = staff.address();
+        staffPage.addStaff(staff.firstName(), staff.lastName(), staff.email(), "12345",
+                staff.role(), staff.gender(), address.line1(), address.line2(), address.city(),
+                address.zipCode(), address.state());
 
         String expectedError = "Invalid phone number. It must be 10 digits.";
         String actualError = staffPage.getInvalidPhoneNumberError();
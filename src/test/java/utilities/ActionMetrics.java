@@ -0,0 +1,166 @@
+package utilities;
+
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records latency histograms for page-object actions, keyed by action type and
+ * by action plus target field. Recording is thread-confined (one set of
+ * histograms per test thread, reset and reused from test to test); finished
+ * tests are merged into the suite totals. Histograms resolve 0.1 ms up to two
+ * minutes with two significant digits, about 16 KB each.
+ */
+public class ActionMetrics {
+    private static final long LOWEST_DISCERNIBLE_MICROS = 100;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final String TARGET_SEPARATOR = " @ ";
+
+    private static final ThreadLocal<Map<String, Histogram>> TEST_HISTOGRAMS = ThreadLocal.withInitial(HashMap::new);
+    private static final Map<String, Histogram> SUITE_HISTOGRAMS = new HashMap<>();
+
+    private ActionMetrics() {
+    }
+
+    /**
+     * Starts timing an action; close the returned timer when the action completes.
+     *
+     * @param action The action type, e.g. "clickButton"
+     * @param target The page-object field or locator acted on, may be null
+     * @return A timer to close in a finally block
+     */
+    public static Timer time(String action, String target) {
+        return new Timer(action, target, System.nanoTime());
+    }
+
+    /**
+     * Discards the histograms of the calling thread. Called after a test's
+     * teardown, so the next test's histograms include its setup.
+     */
+    public static void beginTest() {
+        TEST_HISTOGRAMS.get().values().forEach(Histogram::reset);
+    }
+
+    /**
+     * Merges the calling thread's histograms into the suite totals.
+     *
+     * @return JSON summary of the finished test, or null if nothing was recorded
+     */
+    public static String endTest() {
+        Map<String, Histogram> recorded = new HashMap<>();
+        TEST_HISTOGRAMS.get().forEach((key, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                recorded.put(key, histogram);
+            }
+        });
+        if (recorded.isEmpty()) {
+            return null;
+        }
+        synchronized (SUITE_HISTOGRAMS) {
+            recorded.forEach((key, histogram) -> SUITE_HISTOGRAMS
+                    .computeIfAbsent(key, k -> newHistogram())
+                    .add(histogram));
+        }
+        String json = toJson(recorded);
+        recorded.values().forEach(Histogram::reset);
+        return json;
+    }
+
+    /**
+     * Writes the suite-wide summary as JSON.
+     *
+     * @param file Destination file
+     */
+    public static void writeSuiteReport(File file) {
+        String json;
+        synchronized (SUITE_HISTOGRAMS) {
+            if (SUITE_HISTOGRAMS.isEmpty()) {
+                return;
+            }
+            json = toJson(SUITE_HISTOGRAMS);
+        }
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(json);
+            LoggerUtils.info("Action latency report written to " + file.getPath());
+        } catch (IOException e) {
+            LoggerUtils.error("Failed to write action latency report: " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * Summarizes the suite-wide p95 per action type.
+     *
+     * @return Compact "action=p95 ms" list
+     */
+    public static String describeSuiteP95() {
+        synchronized (SUITE_HISTOGRAMS) {
+            return SUITE_HISTOGRAMS.entrySet().stream()
+                    .filter(e -> !e.getKey().contains(TARGET_SEPARATOR))
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(e -> e.getKey() + "=" + toMillis(e.getValue().getValueAtPercentile(95)))
+                    .collect(Collectors.joining(", "));
+        }
+    }
+
+    private static void record(String action, String target, long elapsedNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS);
+        Map<String, Histogram> histograms = TEST_HISTOGRAMS.get();
+        histograms.computeIfAbsent(action, k -> newHistogram()).recordValue(micros);
+        if (target != null) {
+            histograms.computeIfAbsent(action + TARGET_SEPARATOR + target, k -> newHistogram()).recordValue(micros);
+        }
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(LOWEST_DISCERNIBLE_MICROS, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    private static String toJson(Map<String, Histogram> histograms) {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        histograms.forEach((key, h) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", h.getTotalCount());
+            stats.put("p50Ms", toMillis(h.getValueAtPercentile(50)));
+            stats.put("p95Ms", toMillis(h.getValueAtPercentile(95)));
+            stats.put("p99Ms", toMillis(h.getValueAtPercentile(99)));
+            stats.put("maxMs", toMillis(h.getMaxValue()));
+            summary.put(key, stats);
+        });
+        return new Json().toJson(summary);
+    }
+
+    private static double toMillis(long micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+
+    /**
+     * Measures one action from creation until {@link #close()}.
+     */
+    public static final class Timer implements AutoCloseable {
+        private final String action;
+        private final String target;
+        private final long startNanos;
+
+        private Timer(String action, String target, long startNanos) {
+            this.action = action;
+            this.target = target;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            record(action, target, System.nanoTime() - startNanos);
+        }
+    }
+}
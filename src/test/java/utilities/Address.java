@@ -2,14 +2,14 @@ package utilities;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import pageObject.BasePage;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 /**
@@ -18,14 +18,14 @@ import java.util.regex.Pattern;
  * international support.
  */
 public class Address extends BasePage {
-    private static final Map<String, String> COUNTRY_ZIP_PATTERNS = new HashMap<>();
+    private static final Map<String, Predicate<String>> COUNTRY_ZIP_VALIDATORS = new HashMap<>();
 
     static {
-        COUNTRY_ZIP_PATTERNS.put("US", "^\\d{5}(-\\d{4})?$");
-        COUNTRY_ZIP_PATTERNS.put("CA", "^[A-Z]\\d[A-Z] \\d[A-Z]\\d$");
-        COUNTRY_ZIP_PATTERNS.put("UK", "^[A-Z]{1,2}\\d[A-Z\\d]? ?\\d[A-Z]{2}$");
-        COUNTRY_ZIP_PATTERNS.put("AU", "^\\d{4}$");
-        COUNTRY_ZIP_PATTERNS.put("IN", "^\\d{6}$");
+        COUNTRY_ZIP_VALIDATORS.put("US", Validators::isValidZipCode);
+        COUNTRY_ZIP_VALIDATORS.put("CA", Pattern.compile("^[A-Z]\\d[A-Z] \\d[A-Z]\\d$").asMatchPredicate());
+        COUNTRY_ZIP_VALIDATORS.put("UK", Pattern.compile("^[A-Z]{1,2}\\d[A-Z\\d]? ?\\d[A-Z]{2}$").asMatchPredicate());
+        COUNTRY_ZIP_VALIDATORS.put("AU", Pattern.compile("^\\d{4}$").asMatchPredicate());
+        COUNTRY_ZIP_VALIDATORS.put("IN", Pattern.compile("^\\d{6}$").asMatchPredicate());
     }
 
     // WebElements for address input fields
@@ -49,14 +49,13 @@ public class Address extends BasePage {
 
     // Constants for validation
     private static final Duration STATE_SELECTION_TIMEOUT = Duration.ofSeconds(5);
-    private static final String STATE_LIST_XPATH = "//ul[contains(@class, 'css-18lh1r')]";
-    private static final String COUNTRY_LIST_XPATH = "//ul[contains(@class, 'css-18lh1r')]";
+    private static final String STATE_LIST_XPATH = "//ul[contains(@class, 'css-18lh1r')]//li";
+    private static final String COUNTRY_LIST_XPATH = "//ul[contains(@class, 'css-18lh1r')]//li";
 
     private String selectedCountry = "US"; // Default to US
 
     public Address(WebDriver driver) {
         super();
-        PageFactory.initElements(driver, this);
         LoggerUtils.debug("Initialized Address utility");
     }
 
@@ -66,9 +65,9 @@ public class Address extends BasePage {
      * @param country The country code (e.g., "US", "CA", "UK")
      */
     public void setCountry(String country) {
-        if (COUNTRY_ZIP_PATTERNS.containsKey(country)) {
+        if (COUNTRY_ZIP_VALIDATORS.containsKey(country)) {
             this.selectedCountry = country;
-            LoggerUtils.debug("Set country to: " + country);
+            LoggerUtils.debug("Set country to: {}", country);
         } else {
             throw new IllegalArgumentException("Unsupported country: " + country);
         }
@@ -104,32 +103,28 @@ public class Address extends BasePage {
         LoggerUtils.info("Entering address details");
         validateAddressInputs(addressLine1, city, zip, state, country);
 
+        ActionMetrics.Timer timer = ActionMetrics.time("Address.enterAddressDetails", null);
         try {
-            // Enter addressline 1
-            setInputField(addressLine1Input, addressLine1);
-            LoggerUtils.debug("Entered address line 1: " + addressLine1);
-
-            // Enter address line 2 if provided
+            // Enter address lines (line 2 only if provided), city and ZIP code in one pass
+            List<Map.Entry<WebElement, String>> fields = new ArrayList<>();
+            fields.add(Map.entry(addressLine1Input, addressLine1));
             if (addressLine2 != null && !addressLine2.isEmpty()) {
-                setInputField(addressLine2Input, addressLine2);
-                LoggerUtils.debug("Entered address line 2: " + addressLine2);
+                fields.add(Map.entry(addressLine2Input, addressLine2));
             }
-
-            // Enter city
-            setInputField(cityInput, city);
-            LoggerUtils.debug("Entered city: " + city);
-
-            // Enter ZIP code
-            setInputField(zipCodeInput, zip);
-            LoggerUtils.debug("Entered ZIP code: " + zip);
+            fields.add(Map.entry(cityInput, city));
+            fields.add(Map.entry(zipCodeInput, zip));
+            fillForm(fields);
+            LoggerUtils.debug(() -> "Entered address: " + addressLine1 + ", " + addressLine2 + ", " + city + ", " + zip);
 
             // Select state
             selectState(state);
-            LoggerUtils.debug("Selected state: " + state);
+            LoggerUtils.debug("Selected state: {}", state);
 
         } catch (Exception e) {
             LoggerUtils.error("Failed to enter address details: " + e.getMessage());
             throw new RuntimeException("Failed to enter address details: " + e.getMessage(), e);
+        } finally {
+            timer.close();
         }
     }
 
@@ -156,7 +151,7 @@ public class Address extends BasePage {
         if (state == null || state.trim().isEmpty()) {
             throw new IllegalArgumentException("State is required");
         }
-        if (country == null || !COUNTRY_ZIP_PATTERNS.containsKey(country)) {
+        if (country == null || !COUNTRY_ZIP_VALIDATORS.containsKey(country)) {
             throw new IllegalArgumentException("Unsupported country: " + country);
         }
     }
@@ -169,8 +164,8 @@ public class Address extends BasePage {
      * @return true if the ZIP code is valid
      */
     private boolean isValidZipCode(String zipCode, String country) {
-        String pattern = COUNTRY_ZIP_PATTERNS.get(country);
-        return pattern != null && Pattern.matches(pattern, zipCode);
+        Predicate<String> validator = COUNTRY_ZIP_VALIDATORS.get(country);
+        return validator != null && validator.test(zipCode);
     }
 
     /**
@@ -180,23 +175,12 @@ public class Address extends BasePage {
      * @throws RuntimeException if country selection fails
      */
     private void selectCountry(String country) {
-        LoggerUtils.debug("Selecting country: " + country);
+        LoggerUtils.debug("Selecting country: {}", country);
+        ActionMetrics.Timer timer = ActionMetrics.time("Address.selectCountry", describe(countryDropdownButton));
         try {
-            // Click the country dropdown
-            clickButton(countryDropdownButton);
-
-            // Wait for the country list to be visible
-            WebDriverWait wait = new WebDriverWait(getDriver(), STATE_SELECTION_TIMEOUT);
-            WebElement countryList = wait
-                    .until(ExpectedConditions.visibilityOfElementLocated(By.xpath(COUNTRY_LIST_XPATH)));
-
-            // Find and click the country
-            WebElement countryElement = countryList.findElement(By.xpath(".//li[text()='" + country + "']"));
-            clickButton(countryElement);
-
-            // Verify country selection
-            wait.until(ExpectedConditions.textToBePresentInElementValue(countryDropdownButton, country));
-            LoggerUtils.debug("Country selected successfully: " + country);
+            // Open the list, click the country and wait for the input to show it
+            selectDropdownByVisibleText(countryDropdownButton, country, COUNTRY_LIST_XPATH, STATE_SELECTION_TIMEOUT);
+            LoggerUtils.debug("Country selected successfully: {}", country);
 
         } catch (TimeoutException e) {
             LoggerUtils.error("Timeout while selecting country: " + country);
@@ -207,6 +191,8 @@ public class Address extends BasePage {
         } catch (Exception e) {
             LoggerUtils.error("Failed to select country: " + country);
             throw new RuntimeException("Failed to select country: " + country, e);
+        } finally {
+            timer.close();
         }
     }
 
@@ -217,23 +203,12 @@ public class Address extends BasePage {
      * @throws RuntimeException if state selection fails
      */
     private void selectState(String state) {
-        LoggerUtils.debug("Selecting state: " + state);
+        LoggerUtils.debug("Selecting state: {}", state);
+        ActionMetrics.Timer timer = ActionMetrics.time("Address.selectState", describe(stateDropdownButton));
         try {
-            // Click the state dropdown
-            clickButton(stateDropdownButton);
-
-            // Wait for the state list to be visible
-            WebDriverWait wait = new WebDriverWait(getDriver(), STATE_SELECTION_TIMEOUT);
-            WebElement stateList = wait
-                    .until(ExpectedConditions.visibilityOfElementLocated(By.xpath(STATE_LIST_XPATH)));
-
-            // Find and click the state
-            WebElement stateElement = stateList.findElement(By.xpath(".//li[text()='" + state + "']"));
-            clickButton(stateElement);
-
-            // Verify state selection
-            wait.until(ExpectedConditions.textToBePresentInElementValue(stateDropdownButton, state));
-            LoggerUtils.debug("State selected successfully: " + state);
+            // Open the list, click the state and wait for the input to show it
+            selectDropdownByVisibleText(stateDropdownButton, state, STATE_LIST_XPATH, STATE_SELECTION_TIMEOUT);
+            LoggerUtils.debug("State selected successfully: {}", state);
 
         } catch (TimeoutException e) {
             LoggerUtils.error("Timeout while selecting state: " + state);
@@ -244,6 +219,8 @@ public class Address extends BasePage {
         } catch (Exception e) {
             LoggerUtils.error("Failed to select state: " + state);
             throw new RuntimeException("Failed to select state: " + state, e);
+        } finally {
+            timer.close();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package utilities;
+
+import testBase.BaseClass;
+
+/**
+ * Postal address entered with a provider group or staff member.
+ *
+ * @param line1   Street address line 1
+ * @param line2   Street address line 2
+ * @param city    City
+ * @param zipCode ZIP code
+ * @param state   State, as shown in the state dropdown
+ */
+public record AddressData(String line1, String line2, String city, String zipCode, String state) {
+
+    /**
+     * Generates an address in the configured state.
+     *
+     * @param data The generator to draw values from
+     * @return A new address
+     */
+    public static AddressData generate(TestDataGenerator data) {
+        return new AddressData(data.generateAddressLine1(), data.generateAddressLine2(), data.generateCity(),
+                data.generateZipCode(), BaseClass.properties.getProperty("State"));
+    }
+}
@@ -0,0 +1,57 @@
+package utilities;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.testng.ITestResult;
+import pageObject.StepRecorder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes test artifacts to Allure. The attachment entries are created on the
+ * test thread, while the Allure test case is still open, and their content is
+ * written on the sink thread.
+ */
+public class AllureArtifactSink implements ArtifactSink {
+
+    @Override
+    public Runnable accept(TestArtifacts artifacts) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        List<Runnable> writes = new ArrayList<>();
+        Throwable throwable = artifacts.getThrowable();
+        if (throwable != null) {
+            String prefix = artifacts.getStatus() == ITestResult.SKIP ? "Skipped Reason: " : "";
+            text(lifecycle, writes, "Error Details", "text/plain", ".txt", prefix + throwable.getMessage());
+        }
+        text(lifecycle, writes, "Slowest backend calls", "text/plain", ".txt", artifacts.getBackendCalls());
+        text(lifecycle, writes, "Action latency", "application/json", ".json", artifacts.getActionLatency());
+        text(lifecycle, writes, "WebDriver round trips", "text/plain", ".txt", artifacts.getCommandProfile());
+        text(lifecycle, writes, "Debug log", "text/plain", ".log", artifacts.getDebugLog());
+        if (artifacts.getScreenshot() != null) {
+            // Writes itself once the encoded file is ready
+            artifacts.getScreenshot().attachToAllure("Screenshot: " + artifacts.getTestName());
+        }
+        text(lifecycle, writes, "Page source", "text/html", ".html", artifacts.getPageSource());
+        text(lifecycle, writes, "Browser console", "text/plain", ".log", artifacts.getConsoleLog());
+        for (StepRecorder.StepFrame frame : artifacts.getStepFrames()) {
+            binary(lifecycle, writes, frame.label(), frame.mimeType(), "." + frame.extension(), frame.image());
+        }
+        return () -> writes.forEach(Runnable::run);
+    }
+
+    private static void text(AllureLifecycle lifecycle, List<Runnable> writes, String name, String type,
+                             String extension, String content) {
+        if (content != null) {
+            binary(lifecycle, writes, name, type, extension, content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void binary(AllureLifecycle lifecycle, List<Runnable> writes, String name, String type,
+                               String extension, byte[] content) {
+        String source = lifecycle.prepareAttachment(name, type, extension);
+        writes.add(() -> lifecycle.writeAttachment(source, new ByteArrayInputStream(content)));
+    }
+}
@@ -1,14 +1,9 @@
 package utilities;
 
 import io.qameta.allure.Allure;
-import io.qameta.allure.Attachment;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
-import org.openqa.selenium.WebDriver;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
-import testBase.BaseClass;
 
 import java.util.List;
 
@@ -18,16 +13,6 @@ public class AllureListener implements ITestListener {
         return result.getMethod().getMethodName();
     }
 
-    @Attachment(value = "Error Details", type = "text/plain")
-    public static String saveErrorDetails(String message) {
-        return message;
-    }
-
-    @Attachment(value = "Screenshot: {testName}", type = "image/png")
-    public byte[] captureScreenshot(String testName, WebDriver driver) {
-        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-    }
-
     @Override
     public void onStart(ITestContext testContext) {
         String os = testContext.getCurrentXmlTest().getParameter("os");
@@ -39,35 +24,28 @@ public class AllureListener implements ITestListener {
         if (!includedGroups.isEmpty()) {
             Allure.addAttachment("Test Groups", "text/plain", includedGroups.toString());
         }
+
+        // Error details, screenshot and diagnostics are attached by the shared artifact bus
+        ArtifactBus.register("allure", new AllureArtifactSink());
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
         Allure.step("Test Passed: " + getTestMethodName(result));
+        ArtifactBus.publish(result);
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
         String methodName = getTestMethodName(result);
         Allure.step("Test Failed: " + methodName);
-
-        if (result.getThrowable() != null) {
-            saveErrorDetails(result.getThrowable().getMessage());
-        }
-
-        WebDriver driver = BaseClass.getDriver();
-        if (driver != null) {
-            captureScreenshot(methodName, driver);
-        }
+        ArtifactBus.publish(result);
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
         String methodName = getTestMethodName(result);
         Allure.step("Test Skipped: " + methodName);
-
-        if (result.getThrowable() != null) {
-            saveErrorDetails("Skipped Reason: " + result.getThrowable().getMessage());
-        }
+        ArtifactBus.publish(result);
     }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package utilities;
+
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test-lifecycle event bus for report artifacts. The artifacts of a test are
+ * collected once ({@link TestArtifacts#collect(ITestResult)}) and handed to
+ * every registered {@link ArtifactSink}; each sink publishes on its own
+ * daemon thread, so adding a reporter adds neither WebDriver round trips nor
+ * time on the test thread, and a slow reporter does not hold up the others.
+ */
+public final class ArtifactBus {
+    private static final String PUBLISHED_ATTRIBUTE = ArtifactBus.class.getName() + ".published";
+    private static final Map<String, RegisteredSink> SINKS = new LinkedHashMap<>();
+    private static final AtomicLong PUBLISHED = new AtomicLong();
+    private static final AtomicLong SINK_FAILURES = new AtomicLong();
+
+    static {
+        ReportSummary.register("Artifact bus", ArtifactBus::describeStats);
+    }
+
+    private ArtifactBus() {
+    }
+
+    /**
+     * Registers (or replaces) a named sink.
+     *
+     * @param name The sink name, also used for its publishing thread
+     * @param sink The sink
+     */
+    public static synchronized void register(String name, ArtifactSink sink) {
+        RegisteredSink previous = SINKS.put(name, new RegisteredSink(name, sink));
+        if (previous != null) {
+            previous.executor.shutdown();
+        }
+    }
+
+    /**
+     * Collects the artifacts of a finished test and hands them to every sink.
+     * A result is published only once, whichever listener calls this first.
+     *
+     * @param result The finished test
+     */
+    public static void publish(ITestResult result) {
+        synchronized (result) {
+            if (result.getAttribute(PUBLISHED_ATTRIBUTE) != null) {
+                return;
+            }
+            result.setAttribute(PUBLISHED_ATTRIBUTE, Boolean.TRUE);
+        }
+        TestArtifacts artifacts = TestArtifacts.collect(result);
+        for (RegisteredSink registered : sinks()) {
+            Runnable work;
+            try {
+                work = registered.sink.accept(artifacts);
+            } catch (RuntimeException e) {
+                SINK_FAILURES.incrementAndGet();
+                LoggerUtils.error("Artifact sink " + registered.name + " rejected " + artifacts.getTestName(), e);
+                continue;
+            }
+            if (work != null) {
+                registered.executor.execute(() -> run(registered.name, work));
+            }
+        }
+        PUBLISHED.incrementAndGet();
+    }
+
+    /**
+     * Waits until every sink has published what it was given, e.g. before the
+     * reports are flushed.
+     *
+     * @param timeoutMillis The maximum time to wait
+     */
+    public static void awaitIdle(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<Future<?>> markers = new ArrayList<>();
+        for (RegisteredSink registered : sinks()) {
+            markers.add(registered.executor.submit(() -> { }));
+        }
+        try {
+            for (Future<?> marker : markers) {
+                marker.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            LoggerUtils.warn("Artifact sinks were still publishing after {} ms", timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LoggerUtils.warn("Failed to wait for artifact sinks: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Describes bus usage for the reports.
+     *
+     * @return Sink, published result and sink failure counts
+     */
+    public static String describeStats() {
+        return "sinks=" + sinks().size() + ", published=" + PUBLISHED.get() + ", sinkFailures=" + SINK_FAILURES.get();
+    }
+
+    private static synchronized List<RegisteredSink> sinks() {
+        return new ArrayList<>(SINKS.values());
+    }
+
+    private static void run(String sinkName, Runnable work) {
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            SINK_FAILURES.incrementAndGet();
+            LoggerUtils.error("Artifact sink " + sinkName + " failed to publish", e);
+        }
+    }
+
+    private static final class RegisteredSink {
+        private final String name;
+        private final ArtifactSink sink;
+        private final ExecutorService executor;
+
+        private RegisteredSink(String name, ArtifactSink sink) {
+            this.name = name;
+            this.sink = sink;
+            // One thread per sink keeps each reporter's entries in test order
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "artifact-sink-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
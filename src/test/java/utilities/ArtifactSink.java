@@ -0,0 +1,18 @@
+package utilities;
+
+/**
+ * A reporter that receives the artifacts of finished tests from the
+ * {@link ArtifactBus}.
+ */
+public interface ArtifactSink {
+
+    /**
+     * Accepts the artifacts of a finished test. Called on the test thread while
+     * the test is still open in every reporter, so it may register entries that
+     * are bound to the current test, but it must not do I/O or driver calls.
+     *
+     * @param artifacts The collected artifacts
+     * @return The publishing work, run later on this sink's own thread
+     */
+    Runnable accept(TestArtifacts artifacts);
+}
@@ -0,0 +1,206 @@
+package utilities;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import pageObject.SuperAdminLogin;
+import testBase.BaseClass;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-worker cache of the authenticated browser state (cookies plus local and
+ * session storage) captured after a successful UI login. Later logins on the
+ * same worker inject the snapshot and open the landing page directly instead of
+ * going through the login form.
+ */
+public class AuthSessionCache {
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(30);
+    private static final Duration RESTORE_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+    private static final ThreadLocal<Snapshot> SNAPSHOT = new ThreadLocal<>();
+
+    private static final String READ_STORAGE_SCRIPT =
+            "var dump = function(s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; };"
+                    + "return { local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var fill = function(s, m) { Object.keys(m).forEach(function(k) { s.setItem(k, m[k]); }); };"
+                    + "fill(window.localStorage, arguments[0]); fill(window.sessionStorage, arguments[1]);";
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "window.localStorage.clear(); window.sessionStorage.clear();";
+    private static final String LOGIN_STATE_SCRIPT =
+            "var find = function(p) { return document.evaluate(p, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue; };"
+                    + "if (find(arguments[0])) { return 'authenticated'; }"
+                    + "if (find(arguments[1])) { return 'login'; }"
+                    + "return null;";
+
+    private AuthSessionCache() {
+    }
+
+    /**
+     * Checks whether session reuse is switched on in the configuration.
+     *
+     * @return true if the AuthSessionCache property is enabled
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(BaseClass.properties.getProperty("AuthSessionCache", "false"));
+    }
+
+    /**
+     * Captures the authenticated state of the current page for this worker.
+     * Must be called while the browser is on the post-login landing page.
+     *
+     * @param driver The driver holding the authenticated session
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver) {
+        try {
+            Map<String, Map<String, String>> storage = (Map<String, Map<String, String>>)
+                    ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+            Snapshot snapshot = new Snapshot(
+                    new HashSet<>(driver.manage().getCookies()),
+                    storage.get("local"),
+                    storage.get("session"),
+                    driver.getCurrentUrl(),
+                    Instant.now());
+            SNAPSHOT.set(snapshot);
+            LoggerUtils.debug("Captured authenticated session, valid until {}", snapshot.expiresAt);
+        } catch (Exception e) {
+            LoggerUtils.warn("Failed to capture authenticated session: " + e.getMessage());
+            SNAPSHOT.remove();
+        }
+    }
+
+    /**
+     * Injects this worker's snapshot into the browser and opens the landing page.
+     * The browser must already be on the application origin (the login page).
+     *
+     * @param driver The driver to authenticate
+     * @return true if the application accepted the restored session; false if no
+     * usable snapshot exists or the application rejected it, in which case the
+     * snapshot is dropped and the browser state is cleared for a UI login
+     */
+    public static boolean restore(WebDriver driver) {
+        Snapshot snapshot = SNAPSHOT.get();
+        if (snapshot == null) {
+            return false;
+        }
+        if (snapshot.isExpired()) {
+            LoggerUtils.info("Cached authenticated session expired, falling back to UI login");
+            invalidate();
+            return false;
+        }
+
+        String loginUrl = driver.getCurrentUrl();
+        try {
+            for (Cookie cookie : snapshot.cookies) {
+                try {
+                    driver.manage().addCookie(cookie);
+                } catch (Exception e) {
+                    LoggerUtils.debug("Skipping cookie {}: {}", cookie.getName(), e.getMessage());
+                }
+            }
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, snapshot.localStorage,
+                    snapshot.sessionStorage);
+            driver.get(snapshot.landingUrl);
+
+            Object state = new WebDriverWait(driver, RESTORE_TIMEOUT).until(d -> ((JavascriptExecutor) d)
+                    .executeScript(LOGIN_STATE_SCRIPT, SuperAdminLogin.PROVIDER_GROUPS_XPATH,
+                            SuperAdminLogin.EMAIL_INPUT_XPATH));
+            if ("authenticated".equals(state)) {
+                LoggerUtils.info("Restored cached authenticated session");
+                return true;
+            }
+            LoggerUtils.info("Application rejected cached session, falling back to UI login");
+        } catch (Exception e) {
+            LoggerUtils.warn("Failed to restore cached session, falling back to UI login: " + e.getMessage());
+        }
+
+        invalidate();
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+        driver.get(loginUrl);
+        return false;
+    }
+
+    /**
+     * Drops this worker's snapshot so the next login goes through the UI.
+     */
+    public static void invalidate() {
+        SNAPSHOT.remove();
+    }
+
+    private static final class Snapshot {
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+        private final String landingUrl;
+        private final Instant expiresAt;
+
+        private Snapshot(Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage,
+                         String landingUrl, Instant capturedAt) {
+            this.cookies = cookies;
+            this.localStorage = localStorage == null ? Collections.emptyMap() : localStorage;
+            this.sessionStorage = sessionStorage == null ? Collections.emptyMap() : sessionStorage;
+            this.landingUrl = landingUrl;
+            this.expiresAt = computeExpiry(capturedAt);
+        }
+
+        private boolean isExpired() {
+            return Instant.now().plus(EXPIRY_MARGIN).isAfter(expiresAt);
+        }
+
+        /**
+         * Earliest of the configured TTL, any cookie expiry and any JWT "exp"
+         * claim found in web storage.
+         */
+        private Instant computeExpiry(Instant capturedAt) {
+            String ttl = BaseClass.properties.getProperty("AuthSessionTtlMinutes");
+            Instant expiry = capturedAt.plus(ttl == null ? DEFAULT_TTL : Duration.ofMinutes(Long.parseLong(ttl.trim())));
+            for (Cookie cookie : cookies) {
+                if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(expiry)) {
+                    expiry = cookie.getExpiry().toInstant();
+                }
+            }
+            for (Map<String, String> storage : List.of(localStorage, sessionStorage)) {
+                for (String value : storage.values()) {
+                    Instant tokenExpiry = jwtExpiry(value);
+                    if (tokenExpiry != null && tokenExpiry.isBefore(expiry)) {
+                        expiry = tokenExpiry;
+                    }
+                }
+            }
+            return expiry;
+        }
+
+        private static Instant jwtExpiry(String value) {
+            if (value == null) {
+                return null;
+            }
+            String token = value.startsWith("\"") && value.endsWith("\"") && value.length() > 1
+                    ? value.substring(1, value.length() - 1) : value;
+            String[] parts = token.split("\\.");
+            if (parts.length != 3) {
+                return null;
+            }
+            try {
+                String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+                Map<String, Object> claims = new Json().toType(payload, Json.MAP_TYPE);
+                Object exp = claims.get("exp");
+                return exp instanceof Number ? Instant.ofEpochSecond(((Number) exp).longValue()) : null;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package utilities;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import pageObject.BasePage;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Counts and times every WebDriver command issued through a decorated driver,
+ * grouped by command and by the outermost page-object method that issued it.
+ * Used to find the page-object methods that cost the most browser round trips.
+ */
+public class CommandProfiler implements WebDriverListener {
+    private static final int REPORTED_ROWS = 10;
+    private static final String OUTSIDE_PAGE_OBJECTS = "<test code>";
+
+    // Methods that are answered locally by the client and never reach the browser
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "switchTo", "navigate", "timeouts", "window", "logs",
+            "toString", "hashCode", "equals", "getWrappedDriver", "getWrappedElement", "getId");
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final ThreadLocal<Deque<Long>> START_NANOS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Map<String, CommandStats>> TEST_COMMANDS = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<String, CommandStats>> TEST_CALLERS = ThreadLocal.withInitial(HashMap::new);
+    private static final Map<String, CommandStats> SUITE_CALLERS = new ConcurrentHashMap<>();
+
+    private CommandProfiler() {
+    }
+
+    /**
+     * Wraps a driver so that every command it issues is profiled.
+     *
+     * @param driver The driver to decorate
+     * @return The decorated driver
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(new CommandProfiler()).decorate(driver);
+    }
+
+    /**
+     * Discards the calling thread's counters. Called after a test's teardown,
+     * so the next test's counters include its setup (driver lease, login).
+     */
+    public static void beginTest() {
+        TEST_COMMANDS.get().clear();
+        TEST_CALLERS.get().clear();
+        START_NANOS.get().clear();
+    }
+
+    /**
+     * Summarizes the commands issued by the calling thread's test and folds the
+     * per-caller counters into the suite totals.
+     *
+     * @return A plain text report, or null if no command was recorded
+     */
+    public static String endTest() {
+        Map<String, CommandStats> commands = TEST_COMMANDS.get();
+        Map<String, CommandStats> callers = TEST_CALLERS.get();
+        if (commands.isEmpty()) {
+            return null;
+        }
+        callers.forEach((caller, stats) -> SUITE_CALLERS.merge(caller, stats.copy(), CommandStats::merge));
+
+        long totalCount = commands.values().stream().mapToLong(s -> s.count).sum();
+        long totalNanos = commands.values().stream().mapToLong(s -> s.nanos).sum();
+        String report = totalCount + " WebDriver commands, " + TimeUnit.NANOSECONDS.toMillis(totalNanos) + " ms total\n"
+                + "\nBy command:\n" + table(commands)
+                + "\n\nBy page-object method:\n" + table(callers);
+        beginTest();
+        return report;
+    }
+
+    /**
+     * Lists the page-object methods with the most commands across the suite.
+     *
+     * @return Compact "method=commands/ms" list
+     */
+    public static String describeSuiteOffenders() {
+        return SUITE_CALLERS.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, CommandStats> e) -> e.getValue().count).reversed())
+                .limit(5)
+                .map(e -> e.getKey() + "=" + e.getValue().count + "/" + TimeUnit.NANOSECONDS.toMillis(e.getValue().nanos) + "ms")
+                .collect(Collectors.joining(", "));
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        START_NANOS.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(target, method, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(target, method, true);
+    }
+
+    private static void record(Object target, Method method, boolean failed) {
+        Long start = START_NANOS.get().poll();
+        if (start == null || LOCAL_METHODS.contains(method.getName())) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        String command = commandName(target, method);
+        TEST_COMMANDS.get().computeIfAbsent(command, k -> new CommandStats()).add(elapsed, failed);
+        TEST_CALLERS.get().computeIfAbsent(findPageObjectCaller(), k -> new CommandStats()).add(elapsed, failed);
+    }
+
+    private static String commandName(Object target, Method method) {
+        if (target instanceof WebDriver || target instanceof WebElement) {
+            return method.getName();
+        }
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    /**
+     * Finds the outermost page-object frame on the stack, e.g. StaffPage.addStaff
+     * rather than the BasePage helper it delegated to.
+     */
+    private static String findPageObjectCaller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(f -> BasePage.class.isAssignableFrom(f.getDeclaringClass()))
+                .reduce((inner, outer) -> outer)
+                .map(f -> f.getDeclaringClass().getSimpleName() + "." + f.getMethodName())
+                .orElse(OUTSIDE_PAGE_OBJECTS));
+    }
+
+    private static String table(Map<String, CommandStats> stats) {
+        return stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, CommandStats> e) -> e.getValue().count).reversed()
+                        .thenComparing(e -> -e.getValue().nanos))
+                .limit(REPORTED_ROWS)
+                .map(e -> String.format("%5d cmds %7d ms %4d errors  %s", e.getValue().count,
+                        TimeUnit.NANOSECONDS.toMillis(e.getValue().nanos), e.getValue().errors, e.getKey()))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static final class CommandStats {
+        private long count;
+        private long nanos;
+        private long errors;
+
+        private void add(long elapsedNanos, boolean failed) {
+            count++;
+            nanos += elapsedNanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        private CommandStats copy() {
+            CommandStats copy = new CommandStats();
+            copy.count = count;
+            copy.nanos = nanos;
+            copy.errors = errors;
+            return copy;
+        }
+
+        private static CommandStats merge(CommandStats a, CommandStats b) {
+            CommandStats merged = a.copy();
+            merged.count += b.count;
+            merged.nanos += b.nanos;
+            merged.errors += b.errors;
+            return merged;
+        }
+    }
+}
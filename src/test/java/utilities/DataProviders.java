@@ -3,8 +3,10 @@ package utilities;
 import org.testng.annotations.DataProvider;
 
 import java.io.IOException;
+import java.util.Iterator;
 
 public class DataProviders {
+    private static final String LOGIN_DATA_FILE = ".\\testdata\\logindata.xlsx"; // Path to the Excel file
 
     /**
      * Provides login data for testing from an Excel file.
@@ -14,22 +16,34 @@ public class DataProviders {
      */
     @DataProvider(name = "LoginData")
     public String[][] getLoginData() throws IOException {
-        String excelFilePath = ".\\testdata\\logindata.xlsx"; // Path to the Excel file
-        ExcelUtility excelUtility = new ExcelUtility(excelFilePath);
+        // Parsed once per JVM (or loaded from the snapshot) and reused while the file is unchanged
+        return TestDataCache.getRowsAsArray(LOGIN_DATA_FILE, "Sheet1");
+    }
 
-        // Get total rows and columns in the Excel sheet
-        int totalRows = excelUtility.getRowCount("Sheet1");
-        int totalColumns = excelUtility.getColumnCount("Sheet1", 0); // Fetch the column count from the first row (header row)
+    /**
+     * Streams login data rows lazily, skipping rows without a username. Only the
+     * current row is held in memory, so very large credential sheets can be used.
+     *
+     * @return A lazy iterator over username/password rows of this run's shard
+     */
+    @DataProvider(name = "LoginDataStream")
+    public Iterator<Object[]> streamLoginData() {
+        return loginRows().iterator();
+    }
 
-        // Initialize the 2D array to store login data (skipping header row)
-        String[][] loginData = new String[totalRows - 1][totalColumns];
+    /**
+     * Same rows as {@link #streamLoginData()}, executed in parallel across the
+     * suite's data-provider thread pool.
+     *
+     * @return A lazy iterator over username/password rows of this run's shard
+     */
+    @DataProvider(name = "LoginDataParallel", parallel = true)
+    public Iterator<Object[]> streamLoginDataInParallel() {
+        return loginRows().iterator();
+    }
 
-        // Loop through rows and columns to fetch login data
-        for (int rowIndex = 1; rowIndex < totalRows; rowIndex++) {
-            for (int colIndex = 0; colIndex < totalColumns; colIndex++) {
-                loginData[rowIndex - 1][colIndex] = excelUtility.getCellData("Sheet1", rowIndex, colIndex);
-            }
-        }
-        return loginData; // Return the populated 2D array with login data
+    private DataRows loginRows() {
+        return DataRows.fromSheet(LOGIN_DATA_FILE, "Sheet1")
+                .where("Username", username -> !username.isBlank());
     }
 }
@@ -0,0 +1,178 @@
+package utilities;
+
+import testBase.BaseClass;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Lazy data-provider rows read from a spreadsheet. Rows are streamed from
+ * {@link ExcelRowReader} while TestNG pulls them, filtered by column predicates
+ * and optionally restricted to one row-level shard, so a large sheet never has
+ * to be materialized as a {@code String[][]}.
+ * <p>
+ * Sharding assigns row {@code n} to shard {@code n % count}; the shard of the
+ * current run comes from the DataShardIndex/DataShardCount system properties or
+ * config keys, defaulting to a single shard. A serial provider keeps only the
+ * current row on the heap; a {@code parallel = true} provider is drained by
+ * TestNG into its task queue up front, so shard large matrices across runs.
+ */
+public final class DataRows implements Iterable<Object[]> {
+    private final String filePath;
+    private final String sheetName;
+    private final List<ColumnFilter> filters = new ArrayList<>();
+    private int shardIndex;
+    private int shardCount = 1;
+
+    private DataRows(String filePath, String sheetName) {
+        this.filePath = filePath;
+        this.sheetName = sheetName;
+    }
+
+    /**
+     * Starts a row source over one sheet of an .xlsx file.
+     *
+     * @param filePath  The path to the .xlsx file
+     * @param sheetName The sheet to read, or null for the first sheet
+     * @return A new row source, sharded according to the run configuration
+     */
+    public static DataRows fromSheet(String filePath, String sheetName) {
+        DataRows rows = new DataRows(filePath, sheetName);
+        return rows.shard(setting("DataShardIndex", 0), setting("DataShardCount", 1));
+    }
+
+    /**
+     * Keeps only rows whose value in the given column matches the predicate.
+     *
+     * @param column    The header name of the column (case-insensitive)
+     * @param predicate Test applied to the cell value
+     * @return This row source
+     */
+    public DataRows where(String column, Predicate<String> predicate) {
+        filters.add(new ColumnFilter(column, predicate));
+        return this;
+    }
+
+    /**
+     * Restricts the rows to one shard.
+     *
+     * @param index The shard to keep (0-based)
+     * @param count The total number of shards
+     * @return This row source
+     * @throws IllegalArgumentException if the index is outside the shard count
+     */
+    public DataRows shard(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid data shard " + index + " of " + count);
+        }
+        this.shardIndex = index;
+        this.shardCount = count;
+        return this;
+    }
+
+    /**
+     * Opens the sheet and returns the matching rows as data-provider parameter
+     * arrays, one string per header column. The sheet is closed once the
+     * iterator is exhausted.
+     *
+     * @return A lazy iterator for a TestNG data provider
+     * @throws UncheckedIOException if the sheet cannot be opened
+     */
+    @Override
+    public Iterator<Object[]> iterator() {
+        ExcelRowReader reader;
+        try {
+            reader = ExcelUtility.streamRows(filePath, sheetName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open test data: " + filePath, e);
+        }
+        LoggerUtils.debug(() -> "Streaming test data " + filePath + " (shard " + shardIndex + "/" + shardCount
+                + ", " + filters.size() + " filters)");
+        return new RowIterator(reader);
+    }
+
+    private boolean accepts(ExcelRow row) {
+        if (row.getRowNum() % shardCount != shardIndex) {
+            return false;
+        }
+        for (ColumnFilter filter : filters) {
+            if (!filter.predicate().test(row.get(filter.column()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int setting(String key, int defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null && BaseClass.properties != null) {
+            value = BaseClass.properties.getProperty(key);
+        }
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private final class RowIterator implements Iterator<Object[]> {
+        private final ExcelRowReader reader;
+        private final int width;
+        private Object[] next;
+        private boolean closed;
+
+        private RowIterator(ExcelRowReader reader) {
+            this.reader = reader;
+            this.width = reader.getColumnCount();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            try {
+                while (reader.hasNext()) {
+                    ExcelRow row = reader.next();
+                    if (accepts(row)) {
+                        Object[] values = new Object[width];
+                        for (int i = 0; i < width; i++) {
+                            values[i] = row.get(i);
+                        }
+                        next = values;
+                        return true;
+                    }
+                }
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] values = next;
+            next = null;
+            return values;
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                reader.close();
+            }
+        }
+    }
+
+    private record ColumnFilter(String column, Predicate<String> predicate) {
+    }
+}
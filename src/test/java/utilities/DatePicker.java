@@ -99,6 +99,7 @@ public class DatePicker {
      * @throws RuntimeException if date selection fails
      */
     public void selectDate() {
+        ActionMetrics.Timer timer = ActionMetrics.time("DatePicker.selectDate", null);
         try {
             DateTimeFormatter formatter = DATE_FORMATTERS.values().iterator().next();
             LocalDate targetDate = LocalDate.parse(targetDateString, formatter);
@@ -111,10 +112,12 @@ public class DatePicker {
             navigateToMonth(targetMonth);
             selectDay(targetDay);
 
-            LoggerUtils.info("Date selected successfully: " + targetDateString);
+            LoggerUtils.info("Date selected successfully: {}", targetDateString);
         } catch (Exception e) {
             LoggerUtils.error("Failed to select date: " + targetDateString, e);
             throw new RuntimeException("Failed to select date: " + targetDateString, e);
+        } finally {
+            timer.close();
         }
     }
 
@@ -151,7 +154,7 @@ public class DatePicker {
             WebElement yearElement = driver.findElement(By.xpath(yearOptionXPath));
             yearElement.click();
 
-            LoggerUtils.debug("Navigated to year: " + targetYear);
+            LoggerUtils.debug("Navigated to year: {}", targetYear);
         } catch (Exception e) {
             LoggerUtils.error("Failed to navigate to year: " + targetYear, e);
             throw new RuntimeException("Failed to navigate to year: " + targetYear, e);
@@ -189,7 +192,7 @@ public class DatePicker {
                 }
             }
 
-            LoggerUtils.debug("Navigated to month: " + targetMonthStr);
+            LoggerUtils.debug("Navigated to month: {}", targetMonthStr);
         } catch (Exception e) {
             LoggerUtils.error("Failed to navigate to month: " + targetMonthStr, e);
             throw new RuntimeException("Failed to navigate to month: " + targetMonthStr, e);
@@ -212,11 +215,11 @@ public class DatePicker {
                     WebElement dayElement = driver.findElement(By.xpath(dayElementXPath));
                     if (dayElement != null) {
                         dayElement.click();
-                        LoggerUtils.debug("Selected day: " + targetDay);
+                        LoggerUtils.debug("Selected day: {}", targetDay);
                         return;
                     }
                 } catch (NoSuchElementException ex) {
-                    LoggerUtils.debug("Day not found in row " + i + ", checking next row");
+                    LoggerUtils.debug("Day not found in row {}, checking next row", i);
                 }
             }
             throw new NoSuchElementException("Target day not found in the calendar: " + targetDay);
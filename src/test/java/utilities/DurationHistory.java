@@ -0,0 +1,234 @@
+package utilities;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local history of test durations, kept as a {@link ReportJournal} with one
+ * line per finished test. Loading keeps the last {@code window} durations of
+ * each test, from which percentiles are predicted, and rewrites the file once
+ * older lines outnumber the kept ones. A history loaded as a snapshot is never
+ * rewritten; its new runs go to a separate file.
+ */
+public final class DurationHistory implements AutoCloseable {
+    private final Path file;
+    private final Path recordFile;
+    private final int window;
+    private final Map<String, Deque<Long>> durations = new LinkedHashMap<>();
+    private ReportJournal journal;
+
+    private DurationHistory(Path file, Path recordFile, int window) {
+        this.file = file;
+        this.recordFile = recordFile;
+        this.window = window;
+    }
+
+    /**
+     * Loads the history, or starts an empty one if the file does not exist.
+     *
+     * @param file   The history file
+     * @param window The number of recent durations kept per test
+     * @return The history
+     */
+    public static DurationHistory load(Path file, int window) {
+        return load(file, file, window);
+    }
+
+    /**
+     * Loads the history configured by DurationHistoryFile and DurationHistoryWindow.
+     *
+     * @param settings The configuration
+     * @return The history
+     */
+    public static DurationHistory load(Properties settings) {
+        return load(file(settings), window(settings));
+    }
+
+    /**
+     * Loads the configured history as a snapshot, which stays unchanged while
+     * the runs recorded go to another file.
+     *
+     * @param settings   The configuration
+     * @param recordFile The file recorded runs are appended to, or null to keep them in memory
+     * @return The history
+     */
+    public static DurationHistory snapshot(Properties settings, Path recordFile) {
+        return load(file(settings), recordFile, window(settings));
+    }
+
+    /**
+     * Gets the history file configured by DurationHistoryFile.
+     *
+     * @param settings The configuration
+     * @return The history file
+     */
+    public static Path file(Properties settings) {
+        return Paths.get(settings.getProperty("DurationHistoryFile", ".cache/duration-history.jsonl"));
+    }
+
+    private static DurationHistory load(Path file, Path recordFile, int window) {
+        DurationHistory history = new DurationHistory(file, recordFile, Math.max(1, window));
+        if (Files.exists(file)) {
+            AtomicInteger lines = new AtomicInteger();
+            ReportJournal.read(file, record -> {
+                lines.incrementAndGet();
+                if (record.get("test") != null && record.get("millis") instanceof Number millis) {
+                    history.add(String.valueOf(record.get("test")), millis.longValue());
+                }
+            });
+            int kept = history.durations.values().stream().mapToInt(Deque::size).sum();
+            if (file.equals(recordFile) && lines.get() > 2 * kept + 100) {
+                history.compact();
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Expects a duration for each test: its DurationPercentile if it has
+     * history, otherwise the median of the known tests of its class, of all
+     * known tests, or DurationDefaultMs.
+     *
+     * @param tests    Qualified method names (class.method)
+     * @param settings The configuration
+     * @return Expected milliseconds per test, in the order given
+     */
+    public synchronized Map<String, Long> expect(Collection<String> tests, Properties settings) {
+        int percentile = Integer.parseInt(settings.getProperty("DurationPercentile", "75").trim());
+        long defaultMillis = Long.parseLong(settings.getProperty("DurationDefaultMs", "30000").trim());
+        Map<String, Long> expected = new LinkedHashMap<>();
+        Map<String, List<Long>> knownByClass = new HashMap<>();
+        List<Long> known = new ArrayList<>();
+        for (String test : tests) {
+            OptionalLong predicted = predict(test, percentile);
+            if (predicted.isPresent()) {
+                knownByClass.computeIfAbsent(className(test), name -> new ArrayList<>()).add(predicted.getAsLong());
+                known.add(predicted.getAsLong());
+            }
+            expected.put(test, predicted.isPresent() ? predicted.getAsLong() : null);
+        }
+        long overallMedian = known.isEmpty() ? defaultMillis : median(known);
+        for (Map.Entry<String, Long> test : expected.entrySet()) {
+            if (test.getValue() == null) {
+                List<Long> classKnown = knownByClass.get(className(test.getKey()));
+                test.setValue(classKnown != null ? median(classKnown) : overallMedian);
+            }
+        }
+        return expected;
+    }
+
+    /**
+     * Predicts the duration of a test from its recent runs.
+     *
+     * @param test       The test key, e.g. the qualified method name
+     * @param percentile The percentile to predict, 1-100
+     * @return The predicted duration in milliseconds, or empty without history
+     */
+    public synchronized OptionalLong predict(String test, int percentile) {
+        Deque<Long> recent = durations.get(test);
+        if (recent == null || recent.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        long[] sorted = recent.stream().mapToLong(Long::longValue).sorted().toArray();
+        // Nearest-rank percentile
+        int rank = (int) Math.ceil(Math.min(100, Math.max(1, percentile)) / 100.0 * sorted.length);
+        return OptionalLong.of(sorted[Math.max(0, rank - 1)]);
+    }
+
+    /**
+     * Records a finished run and appends it to the record file.
+     *
+     * @param test   The test key
+     * @param millis The duration in milliseconds
+     * @param status The outcome, stored for reference
+     */
+    public synchronized void record(String test, long millis, String status) {
+        add(test, millis);
+        if (recordFile == null) {
+            return;
+        }
+        if (journal == null) {
+            journal = ReportJournal.open(recordFile);
+        }
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("test", test);
+        record.put("millis", millis);
+        record.put("status", status);
+        record.put("at", System.currentTimeMillis());
+        journal.append(record);
+    }
+
+    /**
+     * Gets the number of tests with history.
+     *
+     * @return The number of distinct tests
+     */
+    public synchronized int size() {
+        return durations.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private static int window(Properties settings) {
+        return Integer.parseInt(settings.getProperty("DurationHistoryWindow", "20").trim());
+    }
+
+    private static String className(String test) {
+        int dot = test.lastIndexOf('.');
+        return dot > 0 ? test.substring(0, dot) : test;
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private void add(String test, long millis) {
+        Deque<Long> recent = durations.computeIfAbsent(test, key -> new ArrayDeque<>());
+        while (recent.size() >= window) {
+            recent.removeFirst();
+        }
+        recent.addLast(millis);
+    }
+
+    private void compact() {
+        try {
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try (ReportJournal compacted = ReportJournal.open(temp)) {
+                for (Map.Entry<String, Deque<Long>> test : durations.entrySet()) {
+                    for (long millis : test.getValue()) {
+                        Map<String, Object> record = new LinkedHashMap<>();
+                        record.put("test", test.getKey());
+                        record.put("millis", millis);
+                        compacted.append(record);
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LoggerUtils.debug("Compacted duration history to {} tests", durations.size());
+        } catch (IOException e) {
+            LoggerUtils.warn("Failed to compact duration history: {}", e.getMessage());
+        }
+    }
+}
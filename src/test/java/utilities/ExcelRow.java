@@ -0,0 +1,93 @@
+package utilities;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One immutable data row of a sheet, read by {@link ExcelRowReader}. Values are
+ * addressed by 0-based column index or by header name (case-insensitive); the
+ * header map is shared by all rows of the same sheet.
+ */
+public final class ExcelRow {
+    private final int rowNum;
+    private final String[] values;
+    private final Map<String, Integer> columnIndex;
+
+    ExcelRow(int rowNum, String[] values, Map<String, Integer> columnIndex) {
+        this.rowNum = rowNum;
+        this.values = values;
+        this.columnIndex = columnIndex;
+    }
+
+    /**
+     * Gets the row number in the sheet.
+     *
+     * @return The row number (0-based, the header being row 0)
+     */
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    /**
+     * Gets the number of columns, which is at least the header width.
+     *
+     * @return The number of columns
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Gets the value of a cell.
+     *
+     * @param colNum The column number (0-based)
+     * @return The cell value, or an empty string for a blank or missing cell
+     */
+    public String get(int colNum) {
+        return colNum >= 0 && colNum < values.length ? values[colNum] : "";
+    }
+
+    /**
+     * Gets the value of a cell by header name.
+     *
+     * @param columnName The column name
+     * @return The cell value, or an empty string for a blank cell
+     * @throws IllegalArgumentException if the sheet has no such column
+     */
+    public String get(String columnName) {
+        Integer colNum = columnIndex.get(columnName.toLowerCase());
+        if (colNum == null) {
+            throw new IllegalArgumentException("Column not found: " + columnName);
+        }
+        return get(colNum);
+    }
+
+    /**
+     * Gets the values as an array, e.g. for a TestNG data provider row.
+     *
+     * @return A copy of the values
+     */
+    public String[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * Gets the values keyed by header name, in column order.
+     *
+     * @param headers The header names, as returned by {@link ExcelRowReader#getHeaders()}
+     * @return A new map of header to value
+     */
+    public Map<String, String> toMap(String[] headers) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < headers.length; i++) {
+            map.put(headers[i], get(i));
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "ExcelRow{" + rowNum + ": " + Arrays.toString(values) + "}";
+    }
+}
@@ -0,0 +1,385 @@
+package utilities;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reader for one sheet of an .xlsx file. The sheet XML is pulled row
+ * by row with StAX instead of being loaded into an XSSFWorkbook, so heap use is
+ * one row plus the header, whatever the sheet size. Shared strings are spilled
+ * to a memory-mapped temp file and resolved on demand.
+ * <p>
+ * The first row is read as the header; iteration yields the data rows after it.
+ * Rows that do not exist in the file (never written) are skipped. Cell values follow
+ * {@link ExcelUtility}: whole numbers without decimals, dates as
+ * {@link java.util.Date#toString()}, formulas as their formula text.
+ */
+public class ExcelRowReader implements Iterator<ExcelRow>, AutoCloseable {
+    private static final String[] NO_VALUES = new String[0];
+
+    private final String filePath;
+    private final OPCPackage pkg;
+    private final InputStream sheetStream;
+    private final XMLStreamReader xml;
+    private final SpilledStrings sharedStrings;
+    private final StylesTable styles;
+    private final String[] headers;
+    private final Map<String, Integer> columnIndex;
+    private ExcelRow next;
+    private boolean finished;
+    private int lastRowNum = -1;
+
+    private ExcelRowReader(String filePath, String sheetName) throws IOException {
+        this.filePath = filePath;
+        try {
+            pkg = OPCPackage.open(filePath, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Failed to open workbook: " + filePath, e);
+        }
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            styles = reader.getStylesTable();
+            sharedStrings = SpilledStrings.load(reader);
+            sheetStream = openSheet(reader, sheetName);
+            xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetStream);
+
+            ExcelRow headerRow = readNextRow();
+            headers = headerRow != null ? headerRow.toArray() : NO_VALUES;
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < headers.length; i++) {
+                index.putIfAbsent(headers[i].toLowerCase(), i);
+            }
+            columnIndex = Collections.unmodifiableMap(index);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly();
+            throw e;
+        } catch (OpenXML4JException | XMLStreamException e) {
+            closeQuietly();
+            throw new IOException("Failed to read sheet '" + sheetName + "' of " + filePath, e);
+        }
+        LoggerUtils.debug("Streaming sheet '{}' of {} with {} columns", sheetName, filePath, headers.length);
+    }
+
+    /**
+     * Opens a sheet for streaming.
+     *
+     * @param filePath  The path to the .xlsx file
+     * @param sheetName The sheet to read, or null for the first sheet
+     * @return A reader positioned after the header row; close it when done
+     * @throws IOException              if the file or sheet cannot be read
+     * @throws IllegalArgumentException if the file is not .xlsx or the sheet does not exist
+     */
+    public static ExcelRowReader open(String filePath, String sheetName) throws IOException {
+        if (!filePath.endsWith(".xlsx")) {
+            throw new IllegalArgumentException("Streaming is only supported for .xlsx files: " + filePath);
+        }
+        return new ExcelRowReader(filePath, sheetName);
+    }
+
+    /**
+     * Gets the header names in column order.
+     *
+     * @return A copy of the header row
+     */
+    public String[] getHeaders() {
+        return headers.clone();
+    }
+
+    /**
+     * Gets the number of columns in the header row.
+     *
+     * @return The number of columns
+     */
+    public int getColumnCount() {
+        return headers.length;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readNextRow();
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Failed to read row from " + filePath, e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public ExcelRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ExcelRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() {
+        closeQuietly();
+        LoggerUtils.debug("Closed streaming reader: {}", filePath);
+    }
+
+    private static InputStream openSheet(XSSFReader reader, String sheetName) throws IOException, OpenXML4JException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream stream = sheets.next();
+            if (sheetName == null || sheetName.equals(sheets.getSheetName())) {
+                return stream;
+            }
+            stream.close();
+        }
+        throw new IllegalArgumentException("Sheet not found: " + sheetName);
+    }
+
+    private ExcelRow readNextRow() throws XMLStreamException {
+        while (xml.hasNext()) {
+            if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                // The row number attribute is optional; without it rows are consecutive
+                String ref = xml.getAttributeValue(null, "r");
+                int rowNum = ref != null ? Integer.parseInt(ref) - 1 : lastRowNum + 1;
+                lastRowNum = rowNum;
+                String[] values = readCells();
+                return new ExcelRow(rowNum, values, columnIndex);
+            }
+        }
+        return null;
+    }
+
+    private String[] readCells() throws XMLStreamException {
+        String[] values = new String[headers == null ? 16 : Math.max(headers.length, 1)];
+        int width = headers == null ? 0 : headers.length;
+        int nextColumn = 0;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String ref = xml.getAttributeValue(null, "r");
+                int column = ref != null ? columnOf(ref) : nextColumn;
+                String value = readCell(xml.getAttributeValue(null, "t"), xml.getAttributeValue(null, "s"));
+                if (column >= values.length) {
+                    values = Arrays.copyOf(values, Math.max(column + 1, values.length * 2));
+                }
+                values[column] = value;
+                width = Math.max(width, column + 1);
+                nextColumn = column + 1;
+            }
+        }
+        String[] row = Arrays.copyOf(values, width);
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] == null) {
+                row[i] = "";
+            }
+        }
+        return row;
+    }
+
+    private String readCell(String type, String styleIndex) throws XMLStreamException {
+        String raw = null;
+        String formula = null;
+        StringBuilder inline = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "v":
+                        raw = xml.getElementText();
+                        break;
+                    case "f":
+                        formula = xml.getElementText();
+                        break;
+                    case "t":
+                        inline = inline == null ? new StringBuilder() : inline;
+                        inline.append(xml.getElementText());
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        if (formula != null && !formula.isEmpty()) {
+            return formula;
+        }
+        if (inline != null) {
+            return inline.toString();
+        }
+        if (raw == null) {
+            return "";
+        }
+        if (type == null || "n".equals(type)) {
+            return formatNumber(Double.parseDouble(raw), styleIndex);
+        }
+        switch (type) {
+            case "s":
+                return sharedStrings.get(Integer.parseInt(raw));
+            case "b":
+                return String.valueOf("1".equals(raw));
+            default:
+                return raw;
+        }
+    }
+
+    private String formatNumber(double value, String styleIndex) {
+        if (styleIndex != null && styles != null) {
+            XSSFCellStyle style = styles.getStyleAt(Integer.parseInt(styleIndex));
+            if (style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString())
+                    && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getJavaDate(value).toString();
+            }
+        }
+        return String.valueOf((int) value);
+    }
+
+    // "AB12" -> 27
+    private static int columnOf(String cellRef) {
+        int column = 0;
+        for (int i = 0; i < cellRef.length() && Character.isLetter(cellRef.charAt(i)); i++) {
+            column = column * 26 + (Character.toUpperCase(cellRef.charAt(i)) - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private void closeQuietly() {
+        try {
+            if (xml != null) {
+                xml.close();
+            }
+            if (sheetStream != null) {
+                sheetStream.close();
+            }
+        } catch (XMLStreamException | IOException e) {
+            LoggerUtils.warn("Failed to close sheet stream: " + e.getMessage());
+        }
+        if (sharedStrings != null) {
+            sharedStrings.close();
+        }
+        if (pkg != null) {
+            pkg.revert();
+        }
+    }
+
+    /**
+     * Shared string table written to a temp file as length-prefixed UTF-8 and
+     * memory-mapped, so only the offsets stay on the heap.
+     */
+    private static final class SpilledStrings implements Closeable {
+        private final File file;
+        private final int[] offsets;
+        private final MappedByteBuffer buffer;
+
+        private SpilledStrings(File file, int[] offsets, MappedByteBuffer buffer) {
+            this.file = file;
+            this.offsets = offsets;
+            this.buffer = buffer;
+        }
+
+        static SpilledStrings load(XSSFReader reader) throws IOException, OpenXML4JException, XMLStreamException {
+            InputStream data;
+            try {
+                data = reader.getSharedStringsData();
+            } catch (IOException | OpenXML4JException e) {
+                data = null;
+            }
+            if (data == null) {
+                // Workbooks without any text cells have no shared strings part
+                return new SpilledStrings(null, new int[0], null);
+            }
+            File file = Files.createTempFile("eamata-sst-", ".bin").toFile();
+            file.deleteOnExit();
+            int[] offsets = new int[256];
+            int count = 0;
+            int position = 0;
+            try (InputStream in = data;
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                XMLStreamReader xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(in);
+                StringBuilder text = new StringBuilder();
+                boolean phonetic = false;
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("si".equals(name)) {
+                            text.setLength(0);
+                        } else if ("rPh".equals(name)) {
+                            phonetic = true;
+                        } else if ("t".equals(name) && !phonetic) {
+                            text.append(xml.getElementText());
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("rPh".equals(name)) {
+                            phonetic = false;
+                        } else if ("si".equals(name)) {
+                            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+                            if (count == offsets.length) {
+                                offsets = Arrays.copyOf(offsets, count * 2);
+                            }
+                            offsets[count++] = position;
+                            out.writeInt(bytes.length);
+                            out.write(bytes);
+                            position += 4 + bytes.length;
+                        }
+                    }
+                }
+                xml.close();
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, position);
+                return new SpilledStrings(file, Arrays.copyOf(offsets, count), buffer);
+            }
+        }
+
+        String get(int index) {
+            if (index < 0 || index >= offsets.length) {
+                return "";
+            }
+            int offset = offsets[index];
+            byte[] bytes = new byte[buffer.getInt(offset)];
+            buffer.get(offset + 4, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() {
+            if (file != null && !file.delete()) {
+                LoggerUtils.debug("Shared string spill file will be removed on exit: {}", file);
+            }
+        }
+    }
+}
@@ -21,7 +21,8 @@ public class ExcelUtility {
     private Workbook workbook;
     private Sheet sheet;
     private String filePath;
-    private static final Map<String, Integer> COLUMN_INDEX_MAP = new HashMap<>();
+    // Sheet name -> lower-cased header -> column index, built lazily per sheet
+    private final Map<String, Map<String, Integer>> columnIndexBySheet = new HashMap<>();
 
     /**
      * Constructor for ExcelUtility.
@@ -33,7 +34,7 @@ public class ExcelUtility {
     public ExcelUtility(String filePath) throws IOException {
         this.filePath = filePath;
         initializeWorkbook();
-        LoggerUtils.debug("Initialized ExcelUtility with file: " + filePath);
+        LoggerUtils.debug("Initialized ExcelUtility with file: {}", filePath);
     }
 
     /**
@@ -52,7 +53,6 @@ public class ExcelUtility {
                 throw new IllegalArgumentException("Unsupported file format. Only .xls and .xlsx are supported.");
             }
             sheet = workbook.getSheetAt(0);
-            initializeColumnIndexMap();
         } catch (IOException e) {
             LoggerUtils.error("Failed to initialize workbook: " + filePath, e);
             throw e;
@@ -60,15 +60,35 @@ public class ExcelUtility {
     }
 
     /**
-     * Initializes the column index map from the header row.
+     * Opens a sheet of an .xlsx file for streaming, without loading the workbook.
+     * Use this for large data sheets; heap use stays bounded whatever the row count.
+     *
+     * @param filePath  The path to the .xlsx file
+     * @param sheetName The sheet to read, or null for the first sheet
+     * @return A lazy row iterator positioned after the header row; close it when done
+     * @throws IOException if the file or sheet cannot be read
+     */
+    public static ExcelRowReader streamRows(String filePath, String sheetName) throws IOException {
+        return ExcelRowReader.open(filePath, sheetName);
+    }
+
+    /**
+     * Gets the column index map of a sheet, reading its header row on first use.
+     *
+     * @param targetSheet The sheet
+     * @return Map of lower-cased header name to column index
      */
-    private void initializeColumnIndexMap() {
-        Row headerRow = sheet.getRow(0);
-        if (headerRow != null) {
-            for (Cell cell : headerRow) {
-                COLUMN_INDEX_MAP.put(cell.getStringCellValue().toLowerCase(), cell.getColumnIndex());
+    private Map<String, Integer> getColumnIndexMap(Sheet targetSheet) {
+        return columnIndexBySheet.computeIfAbsent(targetSheet.getSheetName(), name -> {
+            Map<String, Integer> columnIndex = new HashMap<>();
+            Row headerRow = targetSheet.getRow(0);
+            if (headerRow != null) {
+                for (Cell cell : headerRow) {
+                    columnIndex.put(getCellValueAsString(cell).toLowerCase(), cell.getColumnIndex());
+                }
             }
-        }
+            return columnIndex;
+        });
     }
 
     /**
@@ -171,7 +191,7 @@ public class ExcelUtility {
      */
     public String getCellData(int rowNum, String columnName) {
         try {
-            Integer colNum = COLUMN_INDEX_MAP.get(columnName.toLowerCase());
+            Integer colNum = getColumnIndexMap(sheet).get(columnName.toLowerCase());
             if (colNum == null) {
                 throw new IllegalArgumentException("Column not found: " + columnName);
             }
@@ -197,7 +217,7 @@ public class ExcelUtility {
             }
             Cell cell = row.createCell(colNum);
             cell.setCellValue(data);
-            LoggerUtils.debug("Set cell data at row " + rowNum + ", column " + colNum + ": " + data);
+            LoggerUtils.debug("Set cell data at row {}, column {}: {}", rowNum, colNum, data);
         } catch (Exception e) {
             LoggerUtils.error("Failed to set cell data at row " + rowNum + ", column " + colNum, e);
         }
@@ -212,7 +232,7 @@ public class ExcelUtility {
      */
     public void setCellData(int rowNum, String columnName, String data) {
         try {
-            Integer colNum = COLUMN_INDEX_MAP.get(columnName.toLowerCase());
+            Integer colNum = getColumnIndexMap(sheet).get(columnName.toLowerCase());
             if (colNum == null) {
                 throw new IllegalArgumentException("Column not found: " + columnName);
             }
@@ -234,19 +254,23 @@ public class ExcelUtility {
             int colCount = getColumnCount();
             Row headerRow = sheet.getRow(0);
 
+            // Read the header names once instead of per row and cell
+            String[] headers = new String[colCount];
+            for (int j = 0; j < colCount; j++) {
+                headers[j] = getCellValueAsString(headerRow.getCell(j));
+            }
+
             for (int i = 1; i < rowCount; i++) {
-                Map<String, String> rowData = new HashMap<>();
                 Row row = sheet.getRow(i);
                 if (row != null) {
+                    Map<String, String> rowData = new HashMap<>(colCount * 4 / 3 + 1);
                     for (int j = 0; j < colCount; j++) {
-                        String header = headerRow.getCell(j).getStringCellValue();
-                        String value = getCellData(i, j);
-                        rowData.put(header, value);
+                        rowData.put(headers[j], getCellValueAsString(row.getCell(j)));
                     }
                     data.add(rowData);
                 }
             }
-            LoggerUtils.debug("Retrieved " + data.size() + " rows of data");
+            LoggerUtils.debug("Retrieved {} rows of data", data.size());
         } catch (Exception e) {
             LoggerUtils.error("Failed to get all data from sheet", e);
         }
@@ -261,7 +285,7 @@ public class ExcelUtility {
     public void writeData() throws IOException {
         try (FileOutputStream fos = new FileOutputStream(filePath)) {
             workbook.write(fos);
-            LoggerUtils.debug("Data written to file: " + filePath);
+            LoggerUtils.debug("Data written to file: {}", filePath);
         } catch (IOException e) {
             LoggerUtils.error("Failed to write data to file: " + filePath, e);
             throw e;
@@ -304,7 +328,7 @@ public class ExcelUtility {
             if (workbook != null) {
                 workbook.close();
             }
-            LoggerUtils.debug("Closed workbook: " + filePath);
+            LoggerUtils.debug("Closed workbook: {}", filePath);
         } catch (IOException e) {
             LoggerUtils.error("Failed to close workbook: " + filePath, e);
         }
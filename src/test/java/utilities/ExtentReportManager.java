@@ -2,80 +2,129 @@ package utilities;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.CodeLanguage;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.model.NamedAttribute;
+import com.aventstack.extentreports.model.Test;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import pageObject.NetworkActivityTracker;
+import pageObject.StepRecorder;
 import testBase.BaseClass;
 
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
-public class ExtentReportManager implements ITestListener {
+public class ExtentReportManager implements ITestListener, IInvokedMethodListener {
 
     // ThreadLocal for thread-safe test logging in parallel execution
     private static final ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
+    private static final String EXTENT_TEST_ATTRIBUTE = ExtentReportManager.class.getName() + ".test";
+    // -Dreports.dir moves the reports, e.g. into the shard's output directory
+    private static final Path REPORTS_DIR = Paths.get(System.getProperty("reports.dir",
+            Paths.get(System.getProperty("user.dir"), "reports").toString()));
+    private static final Path PAGE_SOURCE_DIR = REPORTS_DIR.resolve("page-source");
     private ExtentSparkReporter sparkReporter;
     private ExtentReports extent;
     private String repName;
+    // Only in ExtentReportMode=stream: finished tests are appended here and dropped from memory
+    private ReportJournal journal;
+    private final Map<String, String> systemInfo = new LinkedHashMap<>();
 
     @Override
     public void onStart(ITestContext testContext) {
         // Timestamp for unique report name
         String timestamp = new SimpleDateFormat("yyyy.MM.dd.hh.mm.ss").format(new Date());
-        repName = "Test-Report-" + timestamp + ".html";
+        // Shards of one run finish within the same second, so the shard is part of the name
+        String shard = Integer.getInteger("shardCount", 1) > 1 ? "-shard-" + Integer.getInteger("shardIndex", 0) : "";
+        repName = "Test-Report-" + timestamp + shard + ".html";
 
         // Create reports directory if it doesn't exist
-        File reportsDir = new File(".\\reports");
+        File reportsDir = REPORTS_DIR.toFile();
         if (!reportsDir.exists()) {
             reportsDir.mkdirs();
         }
 
-        sparkReporter = new ExtentSparkReporter(".\\reports\\" + repName);
-        sparkReporter.config().setDocumentTitle("OMR Automation Report");
-        sparkReporter.config().setReportName("OMR Functional Testing");
-        sparkReporter.config().setTheme(Theme.DARK);
-
         extent = new ExtentReports();
-        extent.attachReporter(sparkReporter);
+        if (isStreaming()) {
+            // No Spark reporter: the HTML is rendered from the journal in onFinish
+            journal = ReportJournal.open(REPORTS_DIR.resolve(repName.replace(".html", ".jsonl")));
+        } else {
+            sparkReporter = new ExtentSparkReporter(REPORTS_DIR.resolve(repName).toString());
+            sparkReporter.config().setDocumentTitle("OMR Automation Report");
+            sparkReporter.config().setReportName("OMR Functional Testing");
+            sparkReporter.config().setTheme(Theme.DARK);
+            extent.attachReporter(sparkReporter);
+        }
 
         // Add system info (optional)
         List<String> includedGroups = testContext.getCurrentXmlTest().getIncludedGroups();
         if (!includedGroups.isEmpty()) {
-            extent.setSystemInfo("Groups", includedGroups.toString());
+            systemInfo.put("Groups", includedGroups.toString());
         }
+
+        // Artifacts are collected once per test and published to every report on its own thread
+        ArtifactBus.register("extent", new ExtentSink(journal != null ? this::journalTest : (test, result) -> { }));
+        ArtifactBus.register("allure", new AllureArtifactSink());
     }
 
     @Override
     public void onTestStart(ITestResult result) {
         // Create a new test node in ExtentReports for each test method and store in ThreadLocal
-        ExtentTest test = extent.createTest(result.getMethod().getMethodName());
+        ExtentTest test;
+        synchronized (extent) {
+            test = extent.createTest(result.getMethod().getMethodName());
+        }
         test.assignCategory(result.getMethod().getGroups());
         extentTest.set(test);
+        result.setAttribute(EXTENT_TEST_ATTRIBUTE, test);
+        StepRecorder.reset();
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        // onTestStart runs after @BeforeMethod, so the per-test logs and counters are cleared here instead:
+        // the next test's then start with its own setup (driver lease, login) rather than this teardown
+        if (method.isConfigurationMethod() && method.getTestMethod().isAfterMethodConfiguration()) {
+            FlightRecorderAppender.beginTest();
+            NetworkActivityTracker.resetTimings();
+            ActionMetrics.beginTest();
+            CommandProfiler.beginTest();
+        }
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
         extentTest.get().log(Status.PASS, result.getName() + " executed successfully");
+        ArtifactBus.publish(result);
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
         extentTest.get().log(Status.FAIL, result.getName() + " failed");
         extentTest.get().log(Status.INFO, result.getThrowable());
-
-        try {
-            String imgPath = new BaseClass().captureScreen(result.getName());
-            extentTest.get().addScreenCaptureFromPath(imgPath);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        ArtifactBus.publish(result);
     }
 
     @Override
@@ -84,22 +133,158 @@ public class ExtentReportManager implements ITestListener {
         if (result.getThrowable() != null) {
             extentTest.get().log(Status.INFO, result.getThrowable());
         }
+        ArtifactBus.publish(result);
     }
 
     @Override
     public void onFinish(ITestContext testContext) {
-        extent.flush();
+        File actionMetricsFile = REPORTS_DIR.resolve("action-metrics-" + repName.replace(".html", ".json")).toFile();
+        ActionMetrics.writeSuiteReport(actionMetricsFile);
+        ReportSummary.register("Action latency p95 (ms)", ActionMetrics::describeSuiteP95);
+        ReportSummary.register("Action latency report", actionMetricsFile::getPath);
+        ReportSummary.register("Top WebDriver round-trip offenders", CommandProfiler::describeSuiteOffenders);
+        ArtifactBus.awaitIdle(30_000);
+        ScreenshotPipeline.awaitPending(30_000);
+        systemInfo.putAll(ReportSummary.snapshot());
+        ReportSummary.writeAllureEnvironment();
+        if (journal != null) {
+            journal.close();
+            StreamingHtmlReport.render(journal.getPath(), REPORTS_DIR.resolve(repName),
+                    "OMR Functional Testing", systemInfo);
+        } else {
+            systemInfo.forEach(extent::setSystemInfo);
+            extent.flush();
+        }
 
         // Automatically open the generated report in the default browser
-        String pathOfExtentReport = System.getProperty("user.dir") + "\\reports\\" + repName;
-        File extentReport = new File(pathOfExtentReport);
+        File extentReport = REPORTS_DIR.resolve(repName).toFile();
 
+        // CI agents have no display; Desktop.browse would throw there
+        if (GraphicsEnvironment.isHeadless() || !Desktop.isDesktopSupported()
+                || !Desktop.getDesktop().isSupported(Desktop.Action.BROWSE)) {
+            LoggerUtils.info("Report written to {}", extentReport.getAbsolutePath());
+            return;
+        }
         try {
             if (extentReport.exists()) {
                 Desktop.getDesktop().browse(extentReport.toURI());
             }
-        } catch (IOException e) {
-            e.printStackTrace();
+        } catch (IOException | UnsupportedOperationException e) {
+            LoggerUtils.warn("Failed to open the report: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isStreaming() {
+        String configured = BaseClass.properties != null ? BaseClass.properties.getProperty("ExtentReportMode", "spark") : "spark";
+        return "stream".equalsIgnoreCase(System.getProperty("ExtentReportMode", configured).trim());
+    }
+
+    // Runs on the Extent sink thread once the test's artifacts are logged
+    private void journalTest(ExtentTest test, ITestResult result) {
+        journal.append(toRecord(test.getModel()));
+        synchronized (extent) {
+            extent.removeTest(test);
+        }
+        result.removeAttribute(EXTENT_TEST_ATTRIBUTE);
+    }
+
+    private static Map<String, Object> toRecord(Test test) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("name", test.getName());
+        record.put("status", test.getStatus().name());
+        record.put("start", test.getStartTime().getTime());
+        record.put("end", test.getEndTime().getTime());
+        record.put("categories", test.getCategorySet().stream().map(NamedAttribute::getName).toList());
+        List<Map<String, Object>> logs = new ArrayList<>();
+        for (Log log : test.getLogs()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("status", log.getStatus().name());
+            entry.put("timestamp", log.getTimestamp().getTime());
+            if (log.getDetails() != null && !log.getDetails().isEmpty()) {
+                entry.put("details", log.getDetails());
+            }
+            if (log.getException() != null) {
+                entry.put("exception", log.getException().getStackTrace());
+            }
+            if (log.getMedia() != null) {
+                entry.put("media", log.getMedia().getPath());
+            }
+            logs.add(entry);
+        }
+        record.put("logs", logs);
+        record.put("media", test.getMedia().stream().map(Media::getPath).toList());
+        return record;
+    }
+
+    // Logs the artifacts on the sink thread; the test node is taken from the result, not the ThreadLocal
+    private static final class ExtentSink implements ArtifactSink {
+        private final BiConsumer<ExtentTest, ITestResult> published;
+
+        private ExtentSink(BiConsumer<ExtentTest, ITestResult> published) {
+            this.published = published;
+        }
+
+        @Override
+        public Runnable accept(TestArtifacts artifacts) {
+            Object test = artifacts.getResult().getAttribute(EXTENT_TEST_ATTRIBUTE);
+            if (!(test instanceof ExtentTest extentTest)) {
+                return null;
+            }
+            return () -> {
+                publish(extentTest, artifacts);
+                published.accept(extentTest, artifacts.getResult());
+            };
+        }
+
+        private static void publish(ExtentTest test, TestArtifacts artifacts) {
+            codeBlock(test, "Slowest backend calls", artifacts.getBackendCalls());
+            if (artifacts.getActionLatency() != null) {
+                test.log(Status.INFO, MarkupHelper.createCodeBlock(artifacts.getActionLatency(), CodeLanguage.JSON));
+            }
+            codeBlock(test, "WebDriver round trips", artifacts.getCommandProfile());
+            codeBlock(test, "Debug log", artifacts.getDebugLog());
+            if (artifacts.getScreenshot() != null) {
+                // The file is encoded in the background; the report is flushed after it is written
+                test.addScreenCaptureFromPath(artifacts.getScreenshot().getPath().toString());
+            }
+            if (artifacts.getPageSource() != null) {
+                Path pageSource = savePageSource(artifacts);
+                if (pageSource != null) {
+                    test.log(Status.INFO, "<a href='" + pageSource.toUri() + "' target='_blank'>Page source</a>");
+                }
+            }
+            codeBlock(test, "Browser console", artifacts.getConsoleLog());
+            List<StepRecorder.StepFrame> frames = artifacts.getStepFrames();
+            if (!frames.isEmpty()) {
+                test.log(Status.INFO, "Last " + frames.size() + " steps before the failure");
+                for (StepRecorder.StepFrame frame : frames) {
+                    try {
+                        test.log(Status.INFO, frame.label(),
+                                MediaEntityBuilder.createScreenCaptureFromPath(frame.save().toString()).build());
+                    } catch (UncheckedIOException e) {
+                        LoggerUtils.warn("Failed to write step frames: {}", e.getMessage());
+                    }
+                }
+            }
+        }
+
+        private static void codeBlock(ExtentTest test, String title, String content) {
+            if (content != null) {
+                test.log(Status.INFO, title);
+                test.log(Status.INFO, MarkupHelper.createCodeBlock(content));
+            }
+        }
+
+        private static Path savePageSource(TestArtifacts artifacts) {
+            Path path = PAGE_SOURCE_DIR.resolve(artifacts.getTestName() + "-" + artifacts.getResult().getStartMillis() + ".html");
+            try {
+                Files.createDirectories(PAGE_SOURCE_DIR);
+                Files.writeString(path, artifacts.getPageSource());
+                return path;
+            } catch (IOException e) {
+                LoggerUtils.warn("Failed to write page source {}: {}", path, e.getMessage());
+                return null;
+            }
         }
     }
 }
@@ -0,0 +1,162 @@
+package utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Log4j appender that keeps the most recent events of each thread in memory
+ * instead of writing them. The test listener clears the buffer of a test
+ * thread after each @AfterMethod, so it holds the next test's setup as well as
+ * its body, and only if the test fails or is skipped renders it into the log
+ * file and the report. Passing tests log their DEBUG and TRACE detail without
+ * any I/O.
+ * <p>
+ * Buffers are keyed by the id of the thread that logged the event, so they
+ * also work with async loggers; events still queued there when the test ends
+ * are not part of the dump.
+ */
+@Plugin(name = "FlightRecorder", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class FlightRecorderAppender extends AbstractAppender {
+    private static final int DEFAULT_SIZE = 500;
+    private static final Logger DUMP_LOGGER = LogManager.getLogger("FlightRecorder");
+    private static volatile FlightRecorderAppender active;
+
+    private final int size;
+    private final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+
+    private FlightRecorderAppender(String name, Filter filter, Layout<String> layout, int size) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+        this.size = size;
+    }
+
+    /**
+     * Creates the appender from the log4j2.xml element.
+     *
+     * @param name   The appender name
+     * @param size   The number of events kept per thread
+     * @param layout The layout used to render a dump
+     * @param filter Optional filter
+     * @return The appender
+     */
+    @PluginFactory
+    public static FlightRecorderAppender createAppender(@PluginAttribute("name") String name,
+                                                        @PluginAttribute(value = "size", defaultInt = DEFAULT_SIZE) int size,
+                                                        @PluginElement("Layout") Layout<String> layout,
+                                                        @PluginElement("Filter") Filter filter) {
+        Layout<String> dumpLayout = layout != null ? layout : PatternLayout.createDefaultLayout();
+        return new FlightRecorderAppender(name, filter, dumpLayout, Math.max(1, size));
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        active = this;
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        rings.computeIfAbsent(event.getThreadId(), id -> new Ring(size)).add(event.toImmutable());
+    }
+
+    /**
+     * Discards what the current thread recorded so far. Called after a test's
+     * teardown, before the next test's configuration methods run.
+     */
+    public static void beginTest() {
+        discardCurrentThread();
+    }
+
+    /**
+     * Discards what the current thread recorded. Called when a test passes.
+     */
+    public static void discardTest() {
+        discardCurrentThread();
+    }
+
+    /**
+     * Renders what the current thread recorded since the previous teardown, writes it
+     * to the log file and discards it.
+     *
+     * @param testName The test the events belong to
+     * @return The rendered events, or null if nothing was recorded
+     */
+    public static String dumpTest(String testName) {
+        FlightRecorderAppender appender = active;
+        if (appender == null) {
+            return null;
+        }
+        Ring ring = appender.rings.remove(Thread.currentThread().getId());
+        if (ring == null) {
+            return null;
+        }
+        LogEvent[] events = ring.drain();
+        if (events.length == 0) {
+            return null;
+        }
+        StringBuilder dump = new StringBuilder();
+        for (LogEvent event : events) {
+            dump.append(((Layout<?>) appender.getLayout()).toSerializable(event));
+        }
+        String text = dump.toString();
+        DUMP_LOGGER.info("Flight recorder for {} ({} events, {} dropped):{}{}", testName, events.length,
+                ring.dropped(), System.lineSeparator(), text);
+        return text;
+    }
+
+    private static void discardCurrentThread() {
+        FlightRecorderAppender appender = active;
+        if (appender != null) {
+            appender.rings.remove(Thread.currentThread().getId());
+        }
+    }
+
+    // Fixed-size circular buffer; overwrites the oldest event once full
+    private static final class Ring {
+        private final LogEvent[] events;
+        private int next;
+        private int count;
+        private long dropped;
+
+        private Ring(int size) {
+            this.events = new LogEvent[size];
+        }
+
+        private synchronized void add(LogEvent event) {
+            events[next] = event;
+            next = (next + 1) % events.length;
+            if (count < events.length) {
+                count++;
+            } else {
+                dropped++;
+            }
+        }
+
+        private synchronized LogEvent[] drain() {
+            LogEvent[] ordered = new LogEvent[count];
+            int start = (next - count + events.length) % events.length;
+            for (int i = 0; i < count; i++) {
+                ordered[i] = events[(start + i) % events.length];
+            }
+            return ordered;
+        }
+
+        private synchronized long dropped() {
+            return dropped;
+        }
+    }
+}
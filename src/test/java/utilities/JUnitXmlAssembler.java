@@ -0,0 +1,159 @@
+package utilities;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Assembles JUnit XML from a results journal written by
+ * {@link ResultsJournalListener}: one TEST-&lt;class&gt;.xml per test class, in
+ * the format of TestNG's junitreports, so CI can ingest results of a run that
+ * is still going or was killed.
+ */
+public final class JUnitXmlAssembler {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
+            .withZone(ZoneOffset.UTC);
+
+    private JUnitXmlAssembler() {
+    }
+
+    /**
+     * Writes the JUnit XML for every test class in the journal.
+     *
+     * @param journal   The results journal
+     * @param outputDir The directory for the TEST-*.xml files
+     * @throws UncheckedIOException if a file cannot be written
+     */
+    public static void assemble(Path journal, Path outputDir) {
+        // Records are small, so grouping one run by class in memory is fine
+        Map<String, List<Map<String, Object>>> byClass = new LinkedHashMap<>();
+        ReportJournal.read(journal, record ->
+                byClass.computeIfAbsent(String.valueOf(record.get("class")), name -> new ArrayList<>()).add(record));
+        try {
+            Files.createDirectories(outputDir);
+            for (Map.Entry<String, List<Map<String, Object>>> testClass : byClass.entrySet()) {
+                write(outputDir.resolve("TEST-" + testClass.getKey() + ".xml"), testClass.getKey(), testClass.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write JUnit XML to " + outputDir, e);
+        }
+    }
+
+    /**
+     * Assembles the JUnit XML of an interrupted run.
+     *
+     * @param args The journal, then optionally the output directory (default: junit-journal next to the journal)
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: JUnitXmlAssembler <results-journal.jsonl> [output-dir]");
+            return;
+        }
+        Path journal = Paths.get(args[0]);
+        Path outputDir = args.length > 1 ? Paths.get(args[1])
+                : journal.toAbsolutePath().resolveSibling(ResultsJournalListener.JUNIT_DIR);
+        assemble(journal, outputDir);
+        System.out.println("JUnit XML written to " + outputDir.toAbsolutePath());
+    }
+
+    private static void write(Path file, String className, List<Map<String, Object>> records) throws IOException {
+        int failures = 0;
+        int skipped = 0;
+        long start = Long.MAX_VALUE;
+        long totalMillis = 0;
+        for (Map<String, Object> record : records) {
+            String status = String.valueOf(record.get("status"));
+            failures += status.equals("FAIL") ? 1 : 0;
+            skipped += status.equals("SKIP") ? 1 : 0;
+            start = Math.min(start, millis(record, "start"));
+            totalMillis += millis(record, "end") - millis(record, "start");
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            XMLStreamWriter xml = XMLOutputFactory.newFactory().createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters(System.lineSeparator());
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("name", className);
+            xml.writeAttribute("tests", String.valueOf(records.size()));
+            xml.writeAttribute("failures", String.valueOf(failures));
+            xml.writeAttribute("errors", "0");
+            xml.writeAttribute("skipped", String.valueOf(skipped));
+            xml.writeAttribute("time", seconds(totalMillis));
+            xml.writeAttribute("timestamp", TIMESTAMP.format(Instant.ofEpochMilli(start == Long.MAX_VALUE ? 0 : start)));
+            xml.writeAttribute("hostname", hostname());
+            for (Map<String, Object> record : records) {
+                writeTestCase(xml, className, record);
+            }
+            xml.writeCharacters(System.lineSeparator());
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write " + file, e);
+        }
+    }
+
+    private static void writeTestCase(XMLStreamWriter xml, String className, Map<String, Object> record)
+            throws XMLStreamException {
+        String status = String.valueOf(record.get("status"));
+        xml.writeCharacters(System.lineSeparator() + "  ");
+        xml.writeStartElement("testcase");
+        xml.writeAttribute("name", testName(record));
+        xml.writeAttribute("classname", className);
+        xml.writeAttribute("time", seconds(millis(record, "end") - millis(record, "start")));
+        if (status.equals("FAIL")) {
+            Map<?, ?> error = record.get("error") instanceof Map<?, ?> map ? map : Map.of();
+            xml.writeStartElement("failure");
+            xml.writeAttribute("type", text(error, "type"));
+            xml.writeAttribute("message", text(error, "message"));
+            xml.writeCharacters(text(error, "stackTrace"));
+            xml.writeEndElement();
+        } else if (status.equals("SKIP")) {
+            xml.writeEmptyElement("skipped");
+        }
+        xml.writeEndElement();
+    }
+
+    private static String testName(Map<String, Object> record) {
+        String method = String.valueOf(record.get("method"));
+        return record.get("parameters") instanceof List<?> parameters && !parameters.isEmpty()
+                ? method + parameters : method;
+    }
+
+    private static String text(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        return value != null ? String.valueOf(value) : "";
+    }
+
+    private static long millis(Map<String, Object> record, String key) {
+        return record.get(key) instanceof Number number ? number.longValue() : 0;
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", Math.max(0, millis) / 1000.0);
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
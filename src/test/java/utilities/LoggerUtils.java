@@ -4,16 +4,22 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.ThreadContext;
 
+import java.util.function.Supplier;
+
 /**
  * Utility class for centralized logging throughout the test framework.
  * Provides enhanced logging capabilities with context information and stack
  * traces.
+ * <p>
+ * The class and method context is kept in the {@link ThreadContext} and
+ * rendered by the pattern layout, so a message is never copied to prefix it.
+ * Use the {@code {}} parameter or supplier overloads for messages built from
+ * values: they do no work when the level is disabled.
  */
 public class LoggerUtils {
     private static final Logger logger = LogManager.getLogger(LoggerUtils.class);
     private static final String CONTEXT_CLASS = "class";
     private static final String CONTEXT_METHOD = "method";
-    private static final String CONTEXT_THREAD = "thread";
 
     /**
      * Initializes logging context for a specific class and method.
@@ -24,7 +30,6 @@ public class LoggerUtils {
     public static void initializeContext(String className, String methodName) {
         ThreadContext.put(CONTEXT_CLASS, className);
         ThreadContext.put(CONTEXT_METHOD, methodName);
-        ThreadContext.put(CONTEXT_THREAD, Thread.currentThread().getName());
     }
 
     /**
@@ -40,7 +45,39 @@ public class LoggerUtils {
      * @param message The message to log
      */
     public static void info(String message) {
-        logger.info(formatMessage(message));
+        logger.info(message);
+    }
+
+    /**
+     * Logs an informational message with one {@code {}} parameter.
+     * 
+     * @param message The message pattern
+     * @param p0      The parameter
+     */
+    public static void info(String message, Object p0) {
+        logger.info(message, p0);
+    }
+
+    /**
+     * Logs an informational message with two {@code {}} parameters.
+     * 
+     * @param message The message pattern
+     * @param p0      The first parameter
+     * @param p1      The second parameter
+     */
+    public static void info(String message, Object p0, Object p1) {
+        logger.info(message, p0, p1);
+    }
+
+    /**
+     * Logs an informational message built only if the level is enabled.
+     * 
+     * @param message Supplier of the message
+     */
+    public static void info(Supplier<String> message) {
+        if (logger.isInfoEnabled()) {
+            logger.info(message.get());
+        }
     }
 
     /**
@@ -49,7 +86,28 @@ public class LoggerUtils {
      * @param message The message to log
      */
     public static void warn(String message) {
-        logger.warn(formatMessage(message));
+        logger.warn(message);
+    }
+
+    /**
+     * Logs a warning message with one {@code {}} parameter.
+     * 
+     * @param message The message pattern
+     * @param p0      The parameter
+     */
+    public static void warn(String message, Object p0) {
+        logger.warn(message, p0);
+    }
+
+    /**
+     * Logs a warning message with two {@code {}} parameters.
+     * 
+     * @param message The message pattern
+     * @param p0      The first parameter
+     * @param p1      The second parameter
+     */
+    public static void warn(String message, Object p0, Object p1) {
+        logger.warn(message, p0, p1);
     }
 
     /**
@@ -59,7 +117,7 @@ public class LoggerUtils {
      * @param throwable The exception to log
      */
     public static void error(String message, Throwable throwable) {
-        logger.error(formatMessage(message), throwable);
+        logger.error(message, throwable);
     }
 
     /**
@@ -68,7 +126,7 @@ public class LoggerUtils {
      * @param message The message to log
      */
     public static void error(String message) {
-        logger.error(formatMessage(message));
+        logger.error(message);
     }
 
     /**
@@ -77,41 +135,90 @@ public class LoggerUtils {
      * @param message The message to log
      */
     public static void debug(String message) {
-        logger.debug(formatMessage(message));
+        logger.debug(message);
     }
 
     /**
-     * Logs a trace message with context.
+     * Logs a debug message with one {@code {}} parameter.
      * 
-     * @param message The message to log
+     * @param message The message pattern
+     * @param p0      The parameter
      */
-    public static void trace(String message) {
-        logger.trace(formatMessage(message));
+    public static void debug(String message, Object p0) {
+        logger.debug(message, p0);
+    }
+
+    /**
+     * Logs a debug message with two {@code {}} parameters.
+     * 
+     * @param message The message pattern
+     * @param p0      The first parameter
+     * @param p1      The second parameter
+     */
+    public static void debug(String message, Object p0, Object p1) {
+        logger.debug(message, p0, p1);
     }
 
     /**
-     * Formats the log message with context information.
+     * Logs a debug message with three {@code {}} parameters.
      * 
-     * @param message The original message
-     * @return The formatted message with context
+     * @param message The message pattern
+     * @param p0      The first parameter
+     * @param p1      The second parameter
+     * @param p2      The third parameter
      */
-    private static String formatMessage(String message) {
-        StringBuilder formattedMessage = new StringBuilder();
+    public static void debug(String message, Object p0, Object p1, Object p2) {
+        logger.debug(message, p0, p1, p2);
+    }
 
-        if (ThreadContext.get(CONTEXT_CLASS) != null) {
-            formattedMessage.append("[").append(ThreadContext.get(CONTEXT_CLASS)).append("] ");
+    /**
+     * Logs a debug message built only if the level is enabled.
+     * 
+     * @param message Supplier of the message
+     */
+    public static void debug(Supplier<String> message) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message.get());
         }
+    }
 
-        if (ThreadContext.get(CONTEXT_METHOD) != null) {
-            formattedMessage.append("[").append(ThreadContext.get(CONTEXT_METHOD)).append("] ");
-        }
+    /**
+     * Checks whether debug messages are logged, so callers can skip building them.
+     * 
+     * @return true if the debug level is enabled
+     */
+    public static boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
 
-        if (ThreadContext.get(CONTEXT_THREAD) != null) {
-            formattedMessage.append("[").append(ThreadContext.get(CONTEXT_THREAD)).append("] ");
-        }
+    /**
+     * Logs a trace message with context.
+     * 
+     * @param message The message to log
+     */
+    public static void trace(String message) {
+        logger.trace(message);
+    }
 
-        formattedMessage.append(message);
-        return formattedMessage.toString();
+    /**
+     * Logs a trace message with one {@code {}} parameter.
+     * 
+     * @param message The message pattern
+     * @param p0      The parameter
+     */
+    public static void trace(String message, Object p0) {
+        logger.trace(message, p0);
+    }
+
+    /**
+     * Logs a trace message built only if the level is enabled.
+     * 
+     * @param message Supplier of the message
+     */
+    public static void trace(Supplier<String> message) {
+        if (logger.isTraceEnabled()) {
+            logger.trace(message.get());
+        }
     }
 
     /**
@@ -120,7 +227,7 @@ public class LoggerUtils {
      * @param operationName The name of the operation
      */
     public static void logStart(String operationName) {
-        info("Starting: " + operationName);
+        info("Starting: {}", operationName);
     }
 
     /**
@@ -129,7 +236,7 @@ public class LoggerUtils {
      * @param operationName The name of the operation
      */
     public static void logEnd(String operationName) {
-        info("Completed: " + operationName);
+        info("Completed: {}", operationName);
     }
 
     /**
@@ -6,12 +6,38 @@ import testBase.BaseClass;
 
 public class LoginUtils {
 
+    /**
+     * Logs in as the super admin, reusing this worker's cached authenticated
+     * session when the AuthSessionCache property is enabled.
+     */
     public static void loginAsSuperAdmin() {
+        loginAsSuperAdmin(AuthSessionCache.isEnabled());
+    }
+
+    /**
+     * Logs in as the super admin.
+     *
+     * @param reuseSession true to inject a cached authenticated session when one is
+     *                     available (and to cache the session after a UI login);
+     *                     false to always go through the login form, e.g. for
+     *                     tests that exercise the login page itself
+     */
+    public static void loginAsSuperAdmin(boolean reuseSession) {
+        if (reuseSession && AuthSessionCache.restore(BaseClass.getDriver())) {
+            return;
+        }
+
         SuperAdminLogin loginPage = new SuperAdminLogin();
         String validUsername = BaseClass.properties.getProperty("Username");
         String validPassword = BaseClass.properties.getProperty("Password");
         Assert.assertNotNull(validUsername, "Username is not set in the properties file.");
         Assert.assertNotNull(validPassword, "Password is not set in the properties file.");
         loginPage.login(validUsername, validPassword);
+
+        if (reuseSession) {
+            // Only snapshot once the landing page proves the login succeeded
+            loginPage.getProviderGroupsText();
+            AuthSessionCache.capture(BaseClass.getDriver());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package utilities;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+import testBase.BaseClass;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orders test methods longest-expected-first (LPT scheduling) so that with
+ * parallel="methods" the slow tests start early instead of stretching the end
+ * of the run. Expected durations are the DurationPercentile of the last
+ * DurationHistoryWindow runs in DurationHistoryFile, which every finished test
+ * appends to; a shard of a {@link ShardPlanner} split reads it as a snapshot and
+ * appends to its shard directory instead. A method without history is expected to take the median of its
+ * class, or of all known methods, or DurationDefaultMs.
+ * <p>
+ * The order is applied through the method priorities, since TestNG sorts by
+ * priority before interceptor order; the priorities in the test classes only
+ * mirror declaration order. LongestFirstScheduling=false keeps the declared order. The
+ * predicted makespan of the LPT and of the declared order, and the actual
+ * makespan, are added to the reports.
+ */
+public class LongestFirstScheduler implements IMethodInterceptor, ITestListener, ISuiteListener {
+    private static DurationHistory history;
+
+    private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEnd = new AtomicLong();
+    private volatile String prediction;
+
+    @Override
+    public void onStart(ISuite suite) {
+        ReportSummary.register("Scheduling", this::describeMakespan);
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Properties properties = settings();
+        Map<IMethodInstance, Long> expected = expectedDurations(methods, properties);
+        int threads = threads(context);
+        long declared = makespan(methods, expected, threads);
+
+        if (!Boolean.parseBoolean(properties.getProperty("LongestFirstScheduling", "true"))) {
+            prediction = "declared order, predicted " + format(declared) + " on " + threads + " threads";
+            return methods;
+        }
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        // Stable sort: equal expectations keep their declared order
+        ordered.sort(Comparator.comparing((IMethodInstance method) -> expected.get(method)).reversed());
+        for (int i = 0; i < ordered.size(); i++) {
+            ITestNGMethod method = ordered.get(i).getMethod();
+            method.setPriority(i);
+            method.setInterceptedPriority(i);
+        }
+        long longestFirst = makespan(ordered, expected, threads);
+        prediction = "longest first, predicted " + format(longestFirst) + " (declared order " + format(declared)
+                + ") on " + threads + " threads";
+        LoggerUtils.info("Scheduling {} methods longest first: {}", ordered.size(), prediction);
+        return ordered;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, "PASS");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, "FAIL");
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        synchronized (LongestFirstScheduler.class) {
+            if (history != null) {
+                history.close();
+            }
+        }
+    }
+
+    private void record(ITestResult result, String status) {
+        firstStart.accumulateAndGet(result.getStartMillis(), Math::min);
+        lastEnd.accumulateAndGet(result.getEndMillis(), Math::max);
+        history().record(result.getMethod().getQualifiedName(), result.getEndMillis() - result.getStartMillis(), status);
+    }
+
+    private String describeMakespan() {
+        long start = firstStart.get();
+        String actual = start == Long.MAX_VALUE ? "-" : format(lastEnd.get() - start);
+        return (prediction != null ? prediction : "not scheduled") + ", actual " + actual;
+    }
+
+    private static synchronized DurationHistory history() {
+        if (history == null) {
+            Path shardDir = ShardPlanner.shardDir();
+            history = shardDir == null ? DurationHistory.load(settings())
+                    : DurationHistory.snapshot(settings(), shardDir.resolve(ShardPlanner.HISTORY_FILE));
+        }
+        return history;
+    }
+
+    private static Map<IMethodInstance, Long> expectedDurations(List<IMethodInstance> methods, Properties settings) {
+        List<String> names = methods.stream().map(method -> method.getMethod().getQualifiedName()).toList();
+        Map<String, Long> byName = history().expect(names, settings);
+        Map<IMethodInstance, Long> expected = new IdentityHashMap<>();
+        for (IMethodInstance method : methods) {
+            expected.put(method, byName.get(method.getMethod().getQualifiedName()));
+        }
+        return expected;
+    }
+
+    // Greedy list scheduling: each method starts on the thread that frees up first
+    private static long makespan(List<IMethodInstance> order, Map<IMethodInstance, Long> expected, int threads) {
+        PriorityQueue<Long> loads = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            loads.add(0L);
+        }
+        long makespan = 0;
+        for (IMethodInstance method : order) {
+            long load = loads.poll() + expected.get(method) * method.getMethod().getInvocationCount();
+            makespan = Math.max(makespan, load);
+            loads.add(load);
+        }
+        return makespan;
+    }
+
+    private static int threads(ITestContext context) {
+        XmlSuite.ParallelMode parallel = context.getCurrentXmlTest().getParallel();
+        return parallel != null && parallel.isParallel() ? Math.max(1, context.getCurrentXmlTest().getThreadCount()) : 1;
+    }
+
+    private static Properties settings() {
+        return BaseClass.properties != null ? BaseClass.properties : new Properties();
+    }
+
+    static String format(long millis) {
+        Duration duration = Duration.ofMillis(millis);
+        return duration.toMinutes() + "m" + String.format(Locale.ROOT, "%04.1f", duration.toMillisPart() / 1000.0
+                + duration.toSecondsPart()) + "s";
+    }
+}
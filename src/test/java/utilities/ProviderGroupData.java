@@ -0,0 +1,26 @@
+package utilities;
+
+/**
+ * Valid data for creating a provider group.
+ *
+ * @param name      Provider group name
+ * @param email     Contact email
+ * @param phone     10-digit phone number
+ * @param npi       NPI number
+ * @param subdomain Tenant subdomain
+ * @param address   Provider group address
+ */
+public record ProviderGroupData(String name, String email, String phone, String npi, String subdomain,
+                                AddressData address) {
+
+    /**
+     * Generates a provider group with unique email, phone, NPI and subdomain.
+     *
+     * @param data The generator to draw values from
+     * @return A new provider group
+     */
+    public static ProviderGroupData generate(TestDataGenerator data) {
+        return new ProviderGroupData(data.generateCompanyName(), data.generateRandomEmail(), data.generatePhoneNumber(),
+                data.generateRandomNPI(), data.generateRandomSubDomain(), AddressData.generate(data));
+    }
+}
@@ -0,0 +1,179 @@
+package utilities;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonOutput;
+import testBase.BaseClass;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Append-only JSON-lines file for report records. Each record is one line, so
+ * the file can be read while it is still being written and a run that is
+ * killed loses at most the records not yet flushed; a torn last line is
+ * skipped on reading.
+ * <p>
+ * Records are buffered and flushed every JournalFlushEvery records, and at
+ * least every JournalFlushIntervalMs by a shared daemon thread.
+ */
+public final class ReportJournal implements AutoCloseable {
+    private static final Json JSON = new Json();
+    private static final Set<ReportJournal> OPEN = ConcurrentHashMap.newKeySet();
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "report-journal-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        long interval = setting("JournalFlushIntervalMs", 2000);
+        FLUSHER.scheduleWithFixedDelay(() -> OPEN.forEach(ReportJournal::flush), interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private final Path path;
+    private final BufferedWriter writer;
+    private final int flushEvery;
+    private int unflushed;
+    private boolean closed;
+
+    private ReportJournal(Path path, BufferedWriter writer, int flushEvery) {
+        this.path = path;
+        this.writer = writer;
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * Opens a journal for appending, creating it and its directory if needed.
+     *
+     * @param path The journal file
+     * @return The journal
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public static ReportJournal open(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            ReportJournal journal = new ReportJournal(path, writer, (int) Math.max(1, setting("JournalFlushEvery", 5)));
+            OPEN.add(journal);
+            return journal;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open report journal " + path, e);
+        }
+    }
+
+    /**
+     * Reads a journal record by record without loading the whole file. A line
+     * that is not valid JSON, such as one torn by a killed run, is skipped.
+     *
+     * @param path     The journal file
+     * @param consumer Receives each record in file order
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static void read(Path path, Consumer<Map<String, Object>> consumer) {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> record;
+                try {
+                    record = JSON.toType(line, Json.MAP_TYPE);
+                } catch (JsonException e) {
+                    LoggerUtils.warn("Skipping unreadable record in {}: {}", path.getFileName(), e.getMessage());
+                    continue;
+                }
+                consumer.accept(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read report journal " + path, e);
+        }
+    }
+
+    /**
+     * Gets the journal file.
+     *
+     * @return The path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Appends a record as one line.
+     *
+     * @param record The record; values must be JSON-serializable
+     */
+    public synchronized void append(Map<String, Object> record) {
+        if (closed) {
+            LoggerUtils.warn("Dropped record for closed journal {}", path.getFileName());
+            return;
+        }
+        try {
+            StringBuilder line = new StringBuilder();
+            try (JsonOutput output = JSON.newOutput(line)) {
+                output.setPrettyPrint(false);
+                output.write(record);
+            }
+            writer.write(line.toString());
+            writer.newLine();
+            if (++unflushed >= flushEvery) {
+                writer.flush();
+                unflushed = 0;
+            }
+        } catch (IOException e) {
+            LoggerUtils.error("Failed to append to report journal " + path, e);
+        }
+    }
+
+    /**
+     * Writes buffered records to the file.
+     */
+    public synchronized void flush() {
+        if (closed || unflushed == 0) {
+            return;
+        }
+        try {
+            writer.flush();
+            unflushed = 0;
+        } catch (IOException e) {
+            LoggerUtils.error("Failed to flush report journal " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        OPEN.remove(this);
+        closed = true;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            LoggerUtils.error("Failed to close report journal " + path, e);
+        }
+    }
+
+    private static long setting(String key, long defaultValue) {
+        String value = BaseClass.properties != null ? BaseClass.properties.getProperty(key) : null;
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+}
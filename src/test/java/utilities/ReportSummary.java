@@ -0,0 +1,73 @@
+package utilities;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+/**
+ * Registry of run-level statistics contributed by framework components.
+ * Sources are evaluated when the reports are finalized, so the values reflect
+ * the state at the end of the run.
+ */
+public class ReportSummary {
+    private static final String ALLURE_RESULTS_DIR = System.getProperty("allure.results.directory", "allure-results");
+    private static final Map<String, Supplier<String>> SOURCES = new LinkedHashMap<>();
+
+    private ReportSummary() {
+    }
+
+    /**
+     * Registers (or replaces) a named statistics source.
+     *
+     * @param name   The label shown in the reports
+     * @param source Supplier evaluated when the reports are written
+     */
+    public static synchronized void register(String name, Supplier<String> source) {
+        SOURCES.put(name, source);
+    }
+
+    /**
+     * Evaluates every registered source.
+     *
+     * @return Label to value map in registration order
+     */
+    public static synchronized Map<String, String> snapshot() {
+        Map<String, String> values = new LinkedHashMap<>();
+        SOURCES.forEach((name, source) -> {
+            try {
+                values.put(name, source.get());
+            } catch (Exception e) {
+                LoggerUtils.warn("Failed to collect report statistic '" + name + "': " + e.getMessage());
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Writes the current snapshot to the Allure environment file so it shows up
+     * on the Allure overview page.
+     */
+    public static void writeAllureEnvironment() {
+        Map<String, String> values = snapshot();
+        if (values.isEmpty()) {
+            return;
+        }
+        File resultsDir = new File(ALLURE_RESULTS_DIR);
+        if (!resultsDir.exists() && !resultsDir.mkdirs()) {
+            LoggerUtils.warn("Failed to create Allure results directory: " + resultsDir.getAbsolutePath());
+            return;
+        }
+        Properties environment = new Properties();
+        values.forEach(environment::setProperty);
+        try (Writer writer = new FileWriter(new File(resultsDir, "environment.properties"))) {
+            environment.store(writer, "Run statistics");
+        } catch (IOException e) {
+            LoggerUtils.error("Failed to write Allure environment file", e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package utilities;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes one record per finished test to results-journal.jsonl in the TestNG
+ * output directory (test-output, or target/surefire-reports under Maven) as
+ * soon as the test finishes. CI and dashboards can read the journal while the
+ * suite runs, and a killed run keeps every flushed result.
+ * <p>
+ * When the suite finishes, JUnit XML is assembled from the journal into
+ * junit-journal/; {@link JUnitXmlAssembler#main(String[])} does the same for
+ * the journal of an interrupted run. A journal left newer than junit-journal/
+ * by a killed run is moved aside and assembled when the next run starts, to
+ * results-journal-interrupted-&lt;time&gt;.jsonl and junit-journal-interrupted-&lt;time&gt;/.
+ */
+public class ResultsJournalListener implements ISuiteListener, ITestListener {
+    static final String JOURNAL_FILE = "results-journal.jsonl";
+    static final String JUNIT_DIR = "junit-journal";
+    private static final DateTimeFormatter INTERRUPTED_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneId.systemDefault());
+
+    private volatile ReportJournal journal;
+
+    @Override
+    public void onStart(ISuite suite) {
+        Path outputDir = outputDir(suite);
+        Path path = outputDir.resolve(JOURNAL_FILE);
+        try {
+            // One journal per run; the previous one is only kept if its run never assembled it
+            if (Files.exists(path) && Files.size(path) > 0 && !wasAssembled(path, outputDir.resolve(JUNIT_DIR))) {
+                recoverInterrupted(path, outputDir);
+            }
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to reset results journal " + path, e);
+        }
+        journal = ReportJournal.open(path);
+        LoggerUtils.info("Writing test results to {}", path);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ReportJournal finished = journal;
+        if (finished == null) {
+            return;
+        }
+        journal = null;
+        finished.close();
+        Path junitDir = outputDir(suite).resolve(JUNIT_DIR);
+        JUnitXmlAssembler.assemble(finished.getPath(), junitDir);
+        LoggerUtils.info("JUnit XML assembled from the results journal in {}", junitDir);
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, "PASS");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, "FAIL");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, "SKIP");
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        record(result, "PASS");
+    }
+
+    private void record(ITestResult result, String status) {
+        ReportJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("suite", result.getTestContext().getSuite().getName());
+        record.put("test", result.getTestContext().getName());
+        record.put("class", result.getTestClass().getName());
+        record.put("method", result.getMethod().getMethodName());
+        record.put("status", status);
+        record.put("start", result.getStartMillis());
+        record.put("end", result.getEndMillis());
+        record.put("thread", Thread.currentThread().getName());
+        record.put("groups", Arrays.asList(result.getMethod().getGroups()));
+        if (result.getParameters().length > 0) {
+            List<String> parameters = new ArrayList<>();
+            for (Object parameter : result.getParameters()) {
+                parameters.add(String.valueOf(parameter));
+            }
+            record.put("parameters", parameters);
+        }
+        Throwable throwable = result.getThrowable();
+        if (throwable != null) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("type", throwable.getClass().getName());
+            error.put("message", String.valueOf(throwable.getMessage()));
+            StringWriter stackTrace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(stackTrace));
+            error.put("stackTrace", stackTrace.toString());
+            record.put("error", error);
+        }
+        current.append(record);
+    }
+
+    // onFinish assembles after closing the journal, so a finished run leaves XML at least as new as its journal
+    private static boolean wasAssembled(Path journal, Path junitDir) throws IOException {
+        if (!Files.isDirectory(junitDir)) {
+            return false;
+        }
+        FileTime written = Files.getLastModifiedTime(journal);
+        try (Stream<Path> files = Files.list(junitDir)) {
+            return files.anyMatch(file -> file.toFile().lastModified() >= written.toMillis());
+        }
+    }
+
+    private static void recoverInterrupted(Path journal, Path outputDir) throws IOException {
+        String time = INTERRUPTED_TIME.format(Files.getLastModifiedTime(journal).toInstant());
+        Path kept = outputDir.resolve(JOURNAL_FILE.replace(".jsonl", "-interrupted-" + time + ".jsonl"));
+        Files.move(journal, kept, StandardCopyOption.REPLACE_EXISTING);
+        Path junitDir = outputDir.resolve(JUNIT_DIR + "-interrupted-" + time);
+        JUnitXmlAssembler.assemble(kept, junitDir);
+        LoggerUtils.warn("The previous run was interrupted; its results are kept in {} and {}", kept, junitDir);
+    }
+
+    private static Path outputDir(ISuite suite) {
+        // The suite directory sits inside the run's output directory, next to junitreports
+        File suiteDir = new File(suite.getOutputDirectory());
+        File outputDir = suiteDir.getParentFile() != null ? suiteDir.getParentFile() : suiteDir;
+        return Paths.get(outputDir.getAbsolutePath());
+    }
+}
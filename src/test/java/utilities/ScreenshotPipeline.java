@@ -0,0 +1,332 @@
+package utilities;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+import testBase.BaseClass;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Captures failure screenshots once and encodes them off the test thread.
+ * <p>
+ * The test thread only takes the PNG bytes from the driver (one round trip)
+ * and hashes them; the driver can be released right after. A small daemon pool
+ * re-encodes the image (PNG at the strongest deflate level by default, or JPEG
+ * with ScreenshotFormat=jpg and ScreenshotQuality) and writes it under screenshots/ with a name derived from
+ * the content, so parallel tests never collide and identical pages are stored
+ * once. The capture is kept on the {@link ITestResult}, so every reporter of a
+ * failure uses the same artifact.
+ */
+public final class ScreenshotPipeline {
+    private static final String RESULT_ATTRIBUTE = ScreenshotPipeline.class.getName();
+    private static final Path SCREENSHOTS_DIR = Paths.get(System.getProperty("user.dir"), "screenshots");
+    private static final int ENCODER_THREADS = 2;
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+    private static final ExecutorService ENCODERS = Executors.newFixedThreadPool(ENCODER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "screenshot-encoder-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Set<CompletableFuture<Path>> PENDING = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicLong CAPTURED = new AtomicLong();
+    private static final AtomicLong DEDUPLICATED = new AtomicLong();
+    private static final AtomicLong CAPTURED_BYTES = new AtomicLong();
+    private static final AtomicLong WRITTEN_BYTES = new AtomicLong();
+    private static final AtomicLong ENCODE_NANOS = new AtomicLong();
+
+    static {
+        ReportSummary.register("Screenshots", ScreenshotPipeline::describeStats);
+    }
+
+    private ScreenshotPipeline() {
+    }
+
+    /**
+     * Gets the screenshot of a failed test, capturing it from the test's driver
+     * on first use.
+     *
+     * @param result The test result
+     * @return The screenshot, or null if there is no driver or the capture failed
+     */
+    public static Screenshot forResult(ITestResult result) {
+        Object existing = result.getAttribute(RESULT_ATTRIBUTE);
+        if (existing instanceof Screenshot screenshot) {
+            return screenshot;
+        }
+        WebDriver driver = BaseClass.getDriver();
+        if (driver == null) {
+            return null;
+        }
+        try {
+            Screenshot screenshot = capture(driver, result.getName());
+            result.setAttribute(RESULT_ATTRIBUTE, screenshot);
+            return screenshot;
+        } catch (RuntimeException e) {
+            LoggerUtils.warn("Failed to capture screenshot for {}: {}", result.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Captures a screenshot and queues it for encoding.
+     *
+     * @param driver   The driver to capture from
+     * @param testName The test the screenshot belongs to (used for logging)
+     * @return The screenshot, whose file is written in the background
+     */
+    public static Screenshot capture(WebDriver driver, String testName) {
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        CAPTURED.incrementAndGet();
+        CAPTURED_BYTES.addAndGet(png.length);
+
+        Format format = Format.configured();
+        Path path = SCREENSHOTS_DIR.resolve(contentHash(png) + "." + format.extension);
+        CompletableFuture<Path> file = CompletableFuture.supplyAsync(() -> write(png, path, format), ENCODERS);
+        PENDING.add(file);
+        file.whenComplete((written, error) -> PENDING.remove(file));
+        LoggerUtils.debug("Queued screenshot {} for {}", path.getFileName(), testName);
+        return new Screenshot(png, path, format, file);
+    }
+
+    /**
+     * Waits for queued screenshots to be written, e.g. before a report that links
+     * them is flushed.
+     *
+     * @param timeoutMillis The maximum time to wait
+     */
+    public static void awaitPending(long timeoutMillis) {
+        CompletableFuture<?>[] pending = PENDING.toArray(new CompletableFuture<?>[0]);
+        if (pending.length == 0) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(pending).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LoggerUtils.warn("{} screenshots were still being written after {} ms", PENDING.size(), timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Individual failures are already logged by the encoder
+        }
+    }
+
+    /**
+     * Describes screenshot volume and encoding cost for the reports.
+     *
+     * @return Capture, deduplication, size and encoding statistics
+     */
+    public static String describeStats() {
+        return "captured=" + CAPTURED.get() + ", deduplicated=" + DEDUPLICATED.get()
+                + ", capturedKB=" + CAPTURED_BYTES.get() / 1024 + ", writtenKB=" + WRITTEN_BYTES.get() / 1024
+                + ", encodeMs=" + TimeUnit.NANOSECONDS.toMillis(ENCODE_NANOS.get());
+    }
+
+    private static Path write(byte[] png, Path path, Format format) {
+        if (Files.exists(path)) {
+            DEDUPLICATED.incrementAndGet();
+            return path;
+        }
+        long start = System.nanoTime();
+        byte[] encoded;
+        try {
+            encoded = format.encode(png);
+            if (format == Format.PNG && encoded.length >= png.length) {
+                // The driver's PNG was already as small; keep it rather than a larger copy
+                encoded = png;
+            }
+        } catch (IOException | RuntimeException e) {
+            LoggerUtils.warn("Failed to encode screenshot {}, keeping the PNG: {}", path.getFileName(), e.getMessage());
+            encoded = png;
+        }
+        ENCODE_NANOS.addAndGet(System.nanoTime() - start);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, encoded);
+                // Unlike a rename, which replaces the target on POSIX, linking fails if the name exists
+                Files.createLink(path, temp);
+            } catch (FileAlreadyExistsException e) {
+                // Another thread or fork wrote the same content first
+                DEDUPLICATED.incrementAndGet();
+                return path;
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                // No hard links on this file system; an identical copy written meanwhile is replaced
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            WRITTEN_BYTES.addAndGet(encoded.length);
+            return path;
+        } catch (IOException e) {
+            LoggerUtils.error("Failed to write screenshot " + path, e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String setting(String key, String defaultValue) {
+        String value = BaseClass.properties != null ? BaseClass.properties.getProperty(key) : null;
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static String contentHash(byte[] png) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(png);
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One captured screenshot. The PNG bytes are available immediately; the
+     * encoded file is written in the background.
+     */
+    public static final class Screenshot {
+        private final byte[] png;
+        private final Path path;
+        private final Format format;
+        private final CompletableFuture<Path> file;
+        private boolean attachedToAllure;
+
+        private Screenshot(byte[] png, Path path, Format format, CompletableFuture<Path> file) {
+            this.png = png;
+            this.path = path;
+            this.format = format;
+            this.file = file;
+        }
+
+        /**
+         * Gets the path the encoded screenshot is (or will be) written to.
+         *
+         * @return The absolute path under screenshots/
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Gets the screenshot as captured from the driver.
+         *
+         * @return The PNG bytes
+         */
+        public byte[] getPngBytes() {
+            return png.clone();
+        }
+
+        /**
+         * Gets the pending write of the encoded file.
+         *
+         * @return Future completed with the path once the file exists
+         */
+        public CompletableFuture<Path> getFile() {
+            return file;
+        }
+
+        /**
+         * Adds the screenshot to the current Allure test. The attachment entry is
+         * created now and its content is written once encoding finishes, so this
+         * does not wait. Repeated calls attach it only once.
+         *
+         * @param name The attachment name
+         */
+        public synchronized void attachToAllure(String name) {
+            if (attachedToAllure) {
+                return;
+            }
+            attachedToAllure = true;
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            String source = lifecycle.prepareAttachment(name, format.mimeType, "." + format.extension);
+            file.whenComplete((written, error) -> {
+                try (InputStream content = error == null ? Files.newInputStream(written) : new ByteArrayInputStream(png)) {
+                    lifecycle.writeAttachment(source, content);
+                } catch (IOException | RuntimeException e) {
+                    LoggerUtils.warn("Failed to write Allure screenshot attachment: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    private enum Format {
+        JPG("jpg", "image/jpeg"),
+        PNG("png", "image/png");
+
+        private final String extension;
+        private final String mimeType;
+
+        Format(String extension, String mimeType) {
+            this.extension = extension;
+            this.mimeType = mimeType;
+        }
+
+        private static Format configured() {
+            return "jpg".equalsIgnoreCase(setting("ScreenshotFormat", "png")) ? JPG : PNG;
+        }
+
+        private byte[] encode(byte[] png) throws IOException {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                throw new IOException("Unreadable PNG");
+            }
+            if (this == JPG && image.getColorModel().hasAlpha()) {
+                // JPEG has no alpha channel; screenshots are opaque anyway
+                BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+                rgb.createGraphics().drawImage(image, 0, 0, null);
+                image = rgb;
+            }
+            ImageWriter writer = ImageIO.getImageWritersByFormatName(this == JPG ? "jpeg" : "png").next();
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                // For PNG the quality maps to the deflate level: 0 is the strongest compression
+                param.setCompressionQuality(this == JPG ? quality() : 0f);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 2);
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            return out.toByteArray();
+        }
+
+        private static float quality() {
+            return Math.min(1f, Math.max(0.1f, Float.parseFloat(setting("ScreenshotQuality", "0.8"))));
+        }
+    }
+}
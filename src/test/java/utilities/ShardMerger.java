@@ -0,0 +1,258 @@
+package utilities;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Combines the outputs of the shards planned by {@link ShardPlanner} into one
+ * set of reports. Each shard directory is searched for:
+ * <ul>
+ *     <li>results-journal.jsonl, merged and assembled into junit-journal/ (JUnit XML)</li>
+ *     <li>testng-results.xml, merged into one file with summed totals</li>
+ *     <li>Extent journals (Test-Report-*.jsonl, written with ExtentReportMode=stream), rendered as one report</li>
+ *     <li>allure-results directories, copied together; Allure reads the merged directory as one run</li>
+ *     <li>duration-history.jsonl, appended to DurationHistoryFile for the next plan (so merge each run once)</li>
+ *     <li>shard-plan.properties, checked to hold the same plan hash in every shard</li>
+ * </ul>
+ * Usage: {@code ShardMerger <output-dir> <shard-dir>...}, where the shard
+ * directories are the target/shards/shard-N directories the shard profile writes.
+ */
+public final class ShardMerger {
+    private static final String EXTENT_JOURNAL = "Test-Report-merged.jsonl";
+
+    private ShardMerger() {
+    }
+
+    /**
+     * Merges shard outputs from the command line.
+     *
+     * @param args The output directory, then one directory per shard
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardMerger <output-dir> <shard-dir>...");
+            return;
+        }
+        List<Path> shards = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            shards.add(Paths.get(args[i]));
+        }
+        merge(Paths.get(args[0]), shards);
+        System.out.println("Merged " + shards.size() + " shards into " + Paths.get(args[0]).toAbsolutePath());
+    }
+
+    /**
+     * Merges the outputs of the given shards.
+     *
+     * @param outputDir The directory for the merged reports
+     * @param shards    The shard output directories
+     * @throws UncheckedIOException if an output cannot be read or written
+     * @throws IllegalStateException  if the shards ran different plans; the outputs are merged anyway
+     */
+    public static void merge(Path outputDir, List<Path> shards) {
+        try {
+            Files.createDirectories(outputDir);
+            List<Path> resultJournals = new ArrayList<>();
+            List<Path> extentJournals = new ArrayList<>();
+            List<Path> testngResults = new ArrayList<>();
+            List<Path> allureDirs = new ArrayList<>();
+            List<Path> histories = new ArrayList<>();
+            List<Path> plans = new ArrayList<>();
+            for (Path shard : shards) {
+                try (Stream<Path> files = Files.walk(shard)) {
+                    files.forEach(file -> {
+                        String name = file.getFileName().toString();
+                        if (Files.isDirectory(file)) {
+                            if (name.equals("allure-results")) {
+                                allureDirs.add(file);
+                            }
+                        } else if (name.equals(ResultsJournalListener.JOURNAL_FILE)) {
+                            resultJournals.add(file);
+                        } else if (name.startsWith("Test-Report-") && name.endsWith(".jsonl")) {
+                            extentJournals.add(file);
+                        } else if (name.equals("testng-results.xml")) {
+                            testngResults.add(file);
+                        } else if (name.equals(ShardPlanner.HISTORY_FILE)) {
+                            histories.add(file);
+                        } else if (name.equals(ShardPlanner.PLAN_FILE)) {
+                            plans.add(file);
+                        }
+                    });
+                }
+            }
+
+            if (!resultJournals.isEmpty()) {
+                Path journal = concatenate(resultJournals, outputDir.resolve(ResultsJournalListener.JOURNAL_FILE));
+                JUnitXmlAssembler.assemble(journal, outputDir.resolve(ResultsJournalListener.JUNIT_DIR));
+            }
+            if (!extentJournals.isEmpty()) {
+                Path journal = concatenate(extentJournals, outputDir.resolve(EXTENT_JOURNAL));
+                StreamingHtmlReport.render(journal, outputDir.resolve(EXTENT_JOURNAL.replace(".jsonl", ".html")),
+                        "OMR Functional Testing", Map.of("Shards", String.valueOf(shards.size())));
+            }
+            if (!testngResults.isEmpty()) {
+                mergeTestNgResults(testngResults, outputDir.resolve("testng-results.xml"));
+            }
+            for (Path allureDir : allureDirs) {
+                copyAllureResults(allureDir, outputDir.resolve("allure-results"));
+            }
+            if (!histories.isEmpty()) {
+                Path history = DurationHistory.file(ShardPlanner.settings());
+                if (history.getParent() != null) {
+                    Files.createDirectories(history.getParent());
+                }
+                try (OutputStream out = Files.newOutputStream(history, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    append(histories, out);
+                }
+            }
+            LoggerUtils.info(() -> "Merged " + resultJournals.size() + " result journals, " + extentJournals.size()
+                    + " Extent journals, " + testngResults.size() + " testng-results.xml, " + allureDirs.size()
+                    + " allure-results and " + histories.size() + " duration histories");
+            checkPlans(plans);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge shard outputs into " + outputDir, e);
+        }
+    }
+
+    private static Path concatenate(List<Path> journals, Path merged) throws IOException {
+        try (OutputStream out = Files.newOutputStream(merged)) {
+            append(journals, out);
+        }
+        return merged;
+    }
+
+    private static void append(List<Path> journals, OutputStream out) throws IOException {
+        for (Path journal : journals) {
+            byte[] content = Files.readAllBytes(journal);
+            out.write(content);
+            if (content.length > 0 && content[content.length - 1] != '\n') {
+                // A shard killed mid-line; keep the torn line on its own so readers skip only that
+                out.write('\n');
+            }
+        }
+    }
+
+    // Every shard must have run the same plan, or tests were run twice or not at all
+    private static void checkPlans(List<Path> plans) throws IOException {
+        Map<String, List<String>> shardsByPlan = new TreeMap<>();
+        for (Path file : plans) {
+            Properties plan = new Properties();
+            try (Reader reader = Files.newBufferedReader(file)) {
+                plan.load(reader);
+            }
+            StringBuilder hashes = new StringBuilder("shardCount=" + plan.getProperty("shardCount"));
+            for (String key : new TreeSet<>(plan.stringPropertyNames())) {
+                if (key.startsWith("hash.")) {
+                    hashes.append(", ").append(key.substring("hash.".length())).append('=').append(plan.getProperty(key));
+                }
+            }
+            shardsByPlan.computeIfAbsent(hashes.toString(), key -> new ArrayList<>())
+                    .add("shard " + plan.getProperty("shardIndex") + " (" + file.getParent() + ")");
+        }
+        if (shardsByPlan.size() > 1) {
+            StringJoiner message = new StringJoiner("; ", "Shards ran different plans, so the merged reports may miss or repeat tests: ", "");
+            shardsByPlan.forEach((plan, shards) -> message.add("[" + plan + "] in " + String.join(", ", shards)));
+            LoggerUtils.error(message.toString());
+            throw new IllegalStateException(message.toString());
+        }
+        shardsByPlan.keySet().forEach(plan -> LoggerUtils.info("All {} shards ran plan {}", plans.size(), plan));
+    }
+
+    private static void mergeTestNgResults(List<Path> files, Path merged) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            Document result = builder.newDocument();
+            Element root = result.createElement("testng-results");
+            result.appendChild(root);
+            String[] totals = {"ignored", "total", "passed", "failed", "skipped"};
+            long[] sums = new long[totals.length];
+            root.appendChild(result.createElement("reporter-output"));
+            for (Path file : files) {
+                Element shardRoot = builder.parse(file.toFile()).getDocumentElement();
+                for (int i = 0; i < totals.length; i++) {
+                    String value = shardRoot.getAttribute(totals[i]);
+                    sums[i] += value.isEmpty() ? 0 : Long.parseLong(value);
+                }
+                for (Node child = shardRoot.getFirstChild(); child != null; child = child.getNextSibling()) {
+                    if (child instanceof Element element && element.getTagName().equals("suite")) {
+                        root.appendChild(result.importNode(element, true));
+                    }
+                }
+            }
+            for (int i = 0; i < totals.length; i++) {
+                root.setAttribute(totals[i], String.valueOf(sums[i]));
+            }
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            try (Writer writer = Files.newBufferedWriter(merged)) {
+                transformer.transform(new DOMSource(result), new StreamResult(writer));
+            }
+        } catch (ParserConfigurationException | SAXException | TransformerException e) {
+            throw new IOException("Failed to merge testng-results.xml", e);
+        }
+    }
+
+    private static void copyAllureResults(Path source, Path target) throws IOException {
+        Files.createDirectories(target);
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Path copy = target.resolve(file.getFileName().toString());
+                if (file.getFileName().toString().equals("environment.properties")) {
+                    mergeProperties(file, copy);
+                } else if (Files.isRegularFile(file)) {
+                    // Result files are named by UUID, so shards never overwrite each other
+                    Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static void mergeProperties(Path source, Path target) throws IOException {
+        Properties merged = new Properties();
+        if (Files.exists(target)) {
+            try (Reader reader = Files.newBufferedReader(target)) {
+                merged.load(reader);
+            }
+        }
+        try (Reader reader = Files.newBufferedReader(source)) {
+            merged.load(reader);
+        }
+        try (Writer writer = Files.newBufferedWriter(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            merged.store(writer, null);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package utilities;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+import testBase.BaseClass;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Splits the suite into shards of about equal expected duration, so it can run
+ * across surefire forks or CI machines. Methods are assigned longest first to
+ * the shard with the least expected time (durations from
+ * {@link DurationHistory}); methods of one class may land on different shards.
+ * <p>
+ * As a listener it restricts the running suite to one shard when the system
+ * properties shardCount (greater than 1) and shardIndex (0-based) are set, e.g.
+ * {@code mvn test -Pshard -DshardCount=3 -DshardIndex=0}. Each shard plans from
+ * DurationHistoryFile as a snapshot: its finished tests are recorded to
+ * duration-history.jsonl in the shard directory (-DshardDir, by default
+ * target/shards/shard-N), and {@link ShardMerger} appends those to the history
+ * after the run. The shards agree as long as they start from the same file;
+ * each logs the hash of its plan and writes it to shard-plan.properties, and
+ * -DshardPlanHash fails a shard whose plan differs from the one expected.
+ * <p>
+ * {@link #main(String[])} writes the per-shard suite files instead, so the plan
+ * is computed once, and prints its hash. The merger combines the shards'
+ * outputs into one report and checks that all of them ran the same plan.
+ */
+public class ShardPlanner implements IAlterSuiteListener {
+    /** The durations recorded by a shard, in its shard directory. */
+    static final String HISTORY_FILE = "duration-history.jsonl";
+    /** The plan a shard ran, in its shard directory. */
+    static final String PLAN_FILE = "shard-plan.properties";
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int shardCount = Integer.getInteger("shardCount", 1);
+        if (shardCount <= 1) {
+            return;
+        }
+        int shardIndex = Integer.getInteger("shardIndex", 0);
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("shardIndex must be between 0 and " + (shardCount - 1) + ": " + shardIndex);
+        }
+        Properties settings = settings();
+        String expectedHash = System.getProperty("shardPlanHash");
+        Properties record = new Properties();
+        record.setProperty("shardCount", String.valueOf(shardCount));
+        record.setProperty("shardIndex", String.valueOf(shardIndex));
+        for (XmlSuite suite : suites) {
+            Plan plan = plan(suite, shardCount, settings);
+            String hash = plan.hash();
+            if (expectedHash != null && !expectedHash.isBlank() && !expectedHash.trim().equals(hash)) {
+                throw new IllegalStateException("Shard plan " + hash + " of suite " + suite.getName()
+                        + " differs from the expected " + expectedHash.trim() + "; the shards see different duration histories");
+            }
+            record.setProperty("hash." + suite.getName(), hash);
+            plan.shards().forEach((key, shard) -> record.setProperty(suite.getName() + "|" + key, String.valueOf(shard)));
+            long[] loads = restrict(suite, plan, shardIndex);
+            String summary = "shard " + (shardIndex + 1) + "/" + shardCount + " of plan " + hash + ", predicted "
+                    + LongestFirstScheduler.format(loads[shardIndex]) + " of " + LongestFirstScheduler.format(total(loads));
+            ReportSummary.register("Shard", () -> summary);
+            LoggerUtils.info("Running {} of suite {}", summary, suite.getName());
+        }
+        Path planFile = shardDir().resolve(PLAN_FILE);
+        try {
+            Files.createDirectories(planFile.getParent());
+            try (Writer writer = Files.newBufferedWriter(planFile)) {
+                record.store(writer, "Shard plan");
+            }
+        } catch (IOException e) {
+            LoggerUtils.warn("Failed to write {}: {}", planFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the output directory of the running shard: -DshardDir, or
+     * target/shards/shard-N when the suite is split with shardCount.
+     *
+     * @return The shard directory, or null if the run is not a shard
+     */
+    static Path shardDir() {
+        String shardDir = System.getProperty("shardDir");
+        if (shardDir != null && !shardDir.isBlank()) {
+            return Paths.get(shardDir);
+        }
+        if (Integer.getInteger("shardCount", 1) <= 1) {
+            return null;
+        }
+        return Paths.get("target", "shards", "shard-" + Integer.getInteger("shardIndex", 0));
+    }
+
+    /**
+     * Writes one suite file per shard.
+     *
+     * @param args The suite file, the shard count and optionally the output directory (default target/shards)
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardPlanner <testng.xml> <shardCount> [output-dir]");
+            return;
+        }
+        Path suiteFile = Paths.get(args[0]);
+        int shardCount = Integer.parseInt(args[1]);
+        Path outputDir = Paths.get(args.length > 2 ? args[2] : "target/shards");
+        Files.createDirectories(outputDir);
+        Properties settings = settings();
+        for (int shard = 0; shard < shardCount; shard++) {
+            // Parsed again for every shard, since restricting edits the suite in place
+            List<XmlSuite> suites = new ArrayList<>(new Parser(suiteFile.toString()).parseToList());
+            for (XmlSuite suite : suites) {
+                Plan plan = plan(suite, shardCount, settings);
+                long[] loads = restrict(suite, plan, shard);
+                // The suite file is the plan; splitting it again would only undo it
+                suite.getListeners().remove(ShardPlanner.class.getName());
+                suite.setName(suite.getName() + " (shard " + (shard + 1) + " of " + shardCount + ")");
+                Path file = outputDir.resolve("testng-shard-" + shard + ".xml");
+                Files.writeString(file, suite.toXml());
+                System.out.println(file + ": plan " + plan.hash() + ", predicted " + LongestFirstScheduler.format(loads[shard]));
+            }
+        }
+    }
+
+    /**
+     * Assigns every test method of a suite to a shard.
+     *
+     * @param suite      The suite
+     * @param shardCount The number of shards
+     * @param settings   The duration history configuration
+     * @return The shard of each method and the expected load of each shard
+     */
+    static Plan plan(XmlSuite suite, int shardCount, Properties settings) {
+        Map<String, String> methods = new LinkedHashMap<>();
+        for (XmlTest test : suite.getTests()) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                for (String method : methodNames(xmlClass)) {
+                    methods.put(key(test, xmlClass.getName() + "." + method), xmlClass.getName() + "." + method);
+                }
+            }
+        }
+        Map<String, Long> expected;
+        // Read only: compacting the file could race the other shards reading it
+        try (DurationHistory history = DurationHistory.snapshot(settings, null)) {
+            expected = history.expect(methods.values(), settings);
+        }
+        List<String> order = new ArrayList<>(methods.keySet());
+        // Ties broken by name, so every shard computes the same plan
+        order.sort(Comparator.comparing((String key) -> expected.get(methods.get(key))).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        long[] loads = new long[shardCount];
+        Map<String, Integer> assignment = new HashMap<>();
+        for (String key : order) {
+            int lightest = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += expected.get(methods.get(key));
+            assignment.put(key, lightest);
+        }
+        return new Plan(assignment, loads);
+    }
+
+    // Keeps only the shard's methods; returns the expected load of every shard
+    private static long[] restrict(XmlSuite suite, Plan plan, int shard) {
+        for (Iterator<XmlTest> tests = suite.getTests().iterator(); tests.hasNext(); ) {
+            XmlTest test = tests.next();
+            List<XmlClass> classes = new ArrayList<>();
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                List<XmlInclude> includes = new ArrayList<>();
+                for (String method : methodNames(xmlClass)) {
+                    if (plan.shards().get(key(test, xmlClass.getName() + "." + method)) == shard) {
+                        includes.add(existingInclude(xmlClass, method));
+                    }
+                }
+                if (!includes.isEmpty()) {
+                    xmlClass.setIncludedMethods(includes);
+                    classes.add(xmlClass);
+                }
+            }
+            if (classes.isEmpty()) {
+                tests.remove();
+            } else {
+                test.setXmlClasses(classes);
+            }
+        }
+        return plan.loads();
+    }
+
+    // The methods a class entry runs: its includes, or every @Test method, minus its excludes
+    private static List<String> methodNames(XmlClass xmlClass) {
+        List<String> names = new ArrayList<>();
+        if (!xmlClass.getIncludedMethods().isEmpty()) {
+            xmlClass.getIncludedMethods().forEach(include -> names.add(include.getName()));
+        } else {
+            Class<?> type = xmlClass.getSupportClass();
+            boolean classLevelTest = type.isAnnotationPresent(Test.class);
+            for (Method method : type.getMethods()) {
+                if (method.isAnnotationPresent(Test.class)
+                        || classLevelTest && method.getDeclaringClass() == type && !Modifier.isStatic(method.getModifiers())) {
+                    names.add(method.getName());
+                }
+            }
+            names.sort(null);
+        }
+        names.removeAll(xmlClass.getExcludedMethods());
+        return names;
+    }
+
+    private static XmlInclude existingInclude(XmlClass xmlClass, String method) {
+        for (XmlInclude include : xmlClass.getIncludedMethods()) {
+            if (include.getName().equals(method)) {
+                return include;
+            }
+        }
+        return new XmlInclude(method);
+    }
+
+    private static String key(XmlTest test, String qualifiedMethod) {
+        return test.getName() + "|" + qualifiedMethod;
+    }
+
+    private static long total(long[] loads) {
+        long total = 0;
+        for (long load : loads) {
+            total += load;
+        }
+        return total;
+    }
+
+    static Properties settings() {
+        if (BaseClass.properties != null) {
+            return BaseClass.properties;
+        }
+        // Suites are altered before @BeforeSuite loads the configuration
+        Properties settings = new Properties();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get("src/test/resources/config.properties"))) {
+            settings.load(reader);
+        } catch (IOException e) {
+            LoggerUtils.warn("Shard planning without config.properties: {}", e.getMessage());
+        }
+        return settings;
+    }
+
+    /**
+     * A shard assignment.
+     *
+     * @param shards The shard of each method, keyed by XmlTest name and qualified method name
+     * @param loads  The expected milliseconds of each shard
+     */
+    record Plan(Map<String, Integer> shards, long[] loads) {
+
+        /**
+         * Hashes the assignment, so shards can check that they run the same plan.
+         *
+         * @return The first 12 hex digits of the SHA-256 of the shard count and the sorted assignment
+         */
+        String hash() {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                digest.update((loads.length + "\n").getBytes(StandardCharsets.UTF_8));
+                new TreeMap<>(shards).forEach((key, shard) -> digest.update((key + "=" + shard + "\n")
+                        .getBytes(StandardCharsets.UTF_8)));
+                return HexFormat.of().formatHex(digest.digest(), 0, 6);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package utilities;
+
+import testBase.BaseClass;
+
+/**
+ * Valid data for adding a staff member. Role and gender come from the configuration.
+ *
+ * @param firstName First name
+ * @param lastName  Last name
+ * @param email     Unique staff email
+ * @param phone     10-digit phone number
+ * @param role      Staff role, as shown in the role dropdown
+ * @param gender    Gender, as shown in the gender dropdown
+ * @param address   Staff address
+ */
+public record StaffData(String firstName, String lastName, String email, String phone, String role, String gender,
+                        AddressData address) {
+
+    /**
+     * Generates a staff member with the configured role and gender.
+     *
+     * @param data The generator to draw values from
+     * @return A new staff member
+     */
+    public static StaffData generate(TestDataGenerator data) {
+        return new StaffData(data.generateRandomFirstName(), data.generateRandomLastName(), data.generateEmail("staff"),
+                data.generatePhoneNumber(), BaseClass.properties.getProperty("StaffRole"),
+                BaseClass.properties.getProperty("Gender"), AddressData.generate(data));
+    }
+}
@@ -0,0 +1,154 @@
+package utilities;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders the HTML report from a test journal written by
+ * {@link ExtentReportManager} in ExtentReportMode=stream. The journal is read
+ * twice, once for the totals and once for the tests, so memory use does not
+ * depend on the number of tests.
+ * <p>
+ * Run {@link #main(String[])} to render the report of a run that was killed
+ * before it finished.
+ */
+public final class StreamingHtmlReport {
+    private static final String STYLE = "body{background:#1e1e2f;color:#ddd;font-family:sans-serif;margin:24px}"
+            + "h1{font-weight:400}table{border-collapse:collapse;margin-bottom:16px}td{padding:2px 12px}"
+            + "details{background:#27293d;border-radius:4px;margin:6px 0;padding:8px}summary{cursor:pointer}"
+            + ".pass{color:#3ec27f}.fail{color:#f05454}.skip{color:#e8b04b}.info,.warning{color:#8ab4f8}"
+            + ".log{border-top:1px solid #3a3d55;padding:6px 0}.time{color:#888;font-size:12px;margin-right:8px}"
+            + "pre,textarea{background:#1e1e2f;color:#ddd;width:100%;white-space:pre-wrap}img{max-width:480px;display:block}";
+
+    private StreamingHtmlReport() {
+    }
+
+    /**
+     * Renders a journal into an HTML file.
+     *
+     * @param journal    The test journal
+     * @param html       The report to write
+     * @param title      The report title
+     * @param systemInfo Name/value pairs shown above the tests
+     * @throws UncheckedIOException if the report cannot be written
+     */
+    public static void render(Path journal, Path html, String title, Map<String, String> systemInfo) {
+        Map<String, Integer> totals = new LinkedHashMap<>();
+        ReportJournal.read(journal, record -> totals.merge(String.valueOf(record.get("status")), 1, Integer::sum));
+        try (BufferedWriter out = Files.newBufferedWriter(html, StandardCharsets.UTF_8)) {
+            out.write("<!DOCTYPE html><html><head><meta charset='utf-8'><title>" + escape(title) + "</title><style>"
+                    + STYLE + "</style></head><body><h1>" + escape(title) + "</h1><table>");
+            for (Map.Entry<String, Integer> total : totals.entrySet()) {
+                out.write("<tr><td class='" + cssClass(total.getKey()) + "'>" + escape(total.getKey()) + "</td><td>"
+                        + total.getValue() + "</td></tr>");
+            }
+            out.write("</table><table>");
+            for (Map.Entry<String, String> info : systemInfo.entrySet()) {
+                out.write("<tr><td>" + escape(info.getKey()) + "</td><td>" + escape(info.getValue()) + "</td></tr>");
+            }
+            out.write("</table>");
+            ReportJournal.read(journal, record -> writeTest(out, record));
+            out.write("</body></html>");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write report " + html, e);
+        }
+    }
+
+    /**
+     * Renders a journal left behind by an interrupted run.
+     *
+     * @param args The journal, then optionally the report path (default: the journal with .html)
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: StreamingHtmlReport <journal.jsonl> [report.html]");
+            return;
+        }
+        Path journal = Paths.get(args[0]);
+        Path html = args.length > 1 ? Paths.get(args[1])
+                : journal.resolveSibling(journal.getFileName().toString().replaceFirst("\\.jsonl$", "") + ".html");
+        render(journal, html, "OMR Functional Testing (recovered)", Map.of());
+        System.out.println("Report written to " + html.toAbsolutePath());
+    }
+
+    private static void writeTest(Writer out, Map<String, Object> record) {
+        try {
+            String status = String.valueOf(record.get("status"));
+            out.write("<details" + (status.equals("FAIL") ? " open" : "") + "><summary><span class='" + cssClass(status)
+                    + "'>" + escape(status) + "</span> " + escape(String.valueOf(record.get("name"))) + " <span class='time'>"
+                    + duration(record) + " " + escape(String.join(", ", strings(record.get("categories"))))
+                    + "</span></summary>");
+            for (Object entry : (List<?>) record.getOrDefault("logs", List.of())) {
+                Map<?, ?> log = (Map<?, ?>) entry;
+                out.write("<div class='log'><span class='time'>" + time(log.get("timestamp"))
+                        + "</span><span class='" + cssClass(String.valueOf(log.get("status"))) + "'>"
+                        + escape(String.valueOf(log.get("status"))) + "</span> ");
+                if (log.get("details") != null) {
+                    // Details are Extent markup (code blocks, labels) and are rendered as they were logged
+                    out.write(String.valueOf(log.get("details")));
+                }
+                if (log.get("exception") != null) {
+                    out.write("<pre>" + escape(String.valueOf(log.get("exception"))) + "</pre>");
+                }
+                if (log.get("media") != null) {
+                    out.write(image(String.valueOf(log.get("media"))));
+                }
+                out.write("</div>");
+            }
+            for (String media : strings(record.get("media"))) {
+                out.write(image(media));
+            }
+            out.write("</details>");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String image(String path) {
+        String uri;
+        try {
+            uri = Paths.get(path).toUri().toString();
+        } catch (InvalidPathException e) {
+            uri = path;
+        }
+        return "<a href='" + escape(uri) + "' target='_blank'><img loading='lazy' src='" + escape(uri) + "'></a>";
+    }
+
+    private static String duration(Map<String, Object> record) {
+        if (!(record.get("start") instanceof Number start) || !(record.get("end") instanceof Number end)) {
+            return "";
+        }
+        return time(start) + " (" + (end.longValue() - start.longValue()) + " ms)";
+    }
+
+    private static String time(Object epochMillis) {
+        return epochMillis instanceof Number millis
+                ? LocalTime.ofInstant(Instant.ofEpochMilli(millis.longValue()), ZoneId.systemDefault()).toString() : "";
+    }
+
+    private static List<String> strings(Object value) {
+        return value instanceof List<?> list ? list.stream().map(String::valueOf).toList() : List.of();
+    }
+
+    private static String cssClass(String status) {
+        return status.toLowerCase();
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("'", "&#39;")
+                .replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,219 @@
+package utilities;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.testng.ITestResult;
+import pageObject.NetworkActivityTracker;
+import pageObject.StepRecorder;
+import testBase.BaseClass;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Everything the reports show for one finished test, collected once on the
+ * test thread and shared by all {@link ArtifactSink}s.
+ * <p>
+ * Timings and the debug log are taken from the per-thread recorders; for a
+ * failure the screenshot, page source and browser console are read from the
+ * driver. TestNG calls onTestFailure before @AfterMethod, so the listeners
+ * collect a failure through {@link ArtifactBus#publish(ITestResult)} while the
+ * driver is still leased; {@link testBase.BaseClass#tearDown(ITestResult)}
+ * only collects it when no listener did (it gets the cached instance otherwise).
+ */
+public final class TestArtifacts {
+    private static final String RESULT_ATTRIBUTE = TestArtifacts.class.getName();
+
+    private final ITestResult result;
+    private final int status;
+    private final String backendCalls;
+    private final String actionLatency;
+    private final String commandProfile;
+    private final String debugLog;
+    private final ScreenshotPipeline.Screenshot screenshot;
+    private final String pageSource;
+    private final String consoleLog;
+    private final List<StepRecorder.StepFrame> stepFrames;
+
+    private TestArtifacts(ITestResult result) {
+        this.result = result;
+        this.status = result.getStatus();
+        // Timings first, so they do not include the round trips made below
+        this.backendCalls = NetworkActivityTracker.describeSlowestRequests();
+        this.actionLatency = ActionMetrics.endTest();
+        this.commandProfile = CommandProfiler.endTest();
+        if (status == ITestResult.SUCCESS) {
+            FlightRecorderAppender.discardTest();
+            this.debugLog = null;
+        } else {
+            this.debugLog = FlightRecorderAppender.dumpTest(result.getName());
+        }
+        if (status == ITestResult.FAILURE) {
+            WebDriver driver = BaseClass.getDriver();
+            this.screenshot = ScreenshotPipeline.forResult(result);
+            this.pageSource = driver != null ? readPageSource(driver) : null;
+            this.consoleLog = driver != null ? readConsoleLog(driver) : null;
+            this.stepFrames = StepRecorder.drain();
+        } else {
+            StepRecorder.reset();
+            this.screenshot = null;
+            this.pageSource = null;
+            this.consoleLog = null;
+            this.stepFrames = List.of();
+        }
+    }
+
+    /**
+     * Gets the artifacts of a finished test, collecting them on first use. Must
+     * be called on the test thread.
+     *
+     * @param result The finished test
+     * @return The artifacts
+     */
+    public static TestArtifacts collect(ITestResult result) {
+        synchronized (result) {
+            Object existing = result.getAttribute(RESULT_ATTRIBUTE);
+            if (existing instanceof TestArtifacts artifacts) {
+                return artifacts;
+            }
+            TestArtifacts artifacts = new TestArtifacts(result);
+            result.setAttribute(RESULT_ATTRIBUTE, artifacts);
+            return artifacts;
+        }
+    }
+
+    /**
+     * Gets the finished test.
+     *
+     * @return The TestNG result
+     */
+    public ITestResult getResult() {
+        return result;
+    }
+
+    /**
+     * Gets the test method name.
+     *
+     * @return The name
+     */
+    public String getTestName() {
+        return result.getName();
+    }
+
+    /**
+     * Gets the outcome at collection time.
+     *
+     * @return {@link ITestResult#SUCCESS}, {@link ITestResult#FAILURE} or {@link ITestResult#SKIP}
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets why the test failed or was skipped.
+     *
+     * @return The throwable, or null
+     */
+    public Throwable getThrowable() {
+        return result.getThrowable();
+    }
+
+    /**
+     * Gets the slowest backend calls of the test.
+     *
+     * @return The table, or null if none were recorded
+     */
+    public String getBackendCalls() {
+        return backendCalls;
+    }
+
+    /**
+     * Gets the page-object action latencies of the test.
+     *
+     * @return JSON, or null if no action was timed
+     */
+    public String getActionLatency() {
+        return actionLatency;
+    }
+
+    /**
+     * Gets the WebDriver round trips of the test.
+     *
+     * @return The profile, or null if profiling is off
+     */
+    public String getCommandProfile() {
+        return commandProfile;
+    }
+
+    /**
+     * Gets the buffered debug log of a failed or skipped test.
+     *
+     * @return The rendered events, or null
+     */
+    public String getDebugLog() {
+        return debugLog;
+    }
+
+    /**
+     * Gets the screenshot of a failed test.
+     *
+     * @return The screenshot, or null
+     */
+    public ScreenshotPipeline.Screenshot getScreenshot() {
+        return screenshot;
+    }
+
+    /**
+     * Gets the page source of a failed test.
+     *
+     * @return The HTML, or null
+     */
+    public String getPageSource() {
+        return pageSource;
+    }
+
+    /**
+     * Gets the browser console of a failed test.
+     *
+     * @return One entry per line, or null if empty or unavailable
+     */
+    public String getConsoleLog() {
+        return consoleLog;
+    }
+
+    /**
+     * Gets the step frames recorded before a failure.
+     *
+     * @return The frames, oldest first; empty unless the test failed with StepRecorder=true
+     */
+    public List<StepRecorder.StepFrame> getStepFrames() {
+        return stepFrames;
+    }
+
+    private static String readPageSource(WebDriver driver) {
+        try {
+            return driver.getPageSource();
+        } catch (WebDriverException e) {
+            LoggerUtils.warn("Failed to read page source: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String readConsoleLog(WebDriver driver) {
+        try {
+            List<LogEntry> entries = driver.manage().logs().get(LogType.BROWSER).getAll();
+            if (entries.isEmpty()) {
+                return null;
+            }
+            StringJoiner log = new StringJoiner(System.lineSeparator());
+            entries.forEach(entry -> log.add(entry.toString()));
+            return log.toString();
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            // Not every browser exposes its console through WebDriver
+            LoggerUtils.debug("Browser console not available: {}", e.getMessage());
+            return null;
+        }
+    }
+}
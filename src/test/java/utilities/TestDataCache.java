@@ -0,0 +1,308 @@
+package utilities;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JVM-wide cache of spreadsheet data. Each workbook sheet is parsed at most once
+ * per JVM and handed out as immutable rows; a changed modification time or size
+ * of the file invalidates the entry. Parsed sheets are also written to a compact
+ * binary snapshot under target/, so later runs skip POI entirely while the
+ * spreadsheet is unchanged.
+ */
+public class TestDataCache {
+    private static final int SNAPSHOT_MAGIC = 0x45544443; // "ETDC"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final Path SNAPSHOT_DIR = Paths.get(
+            System.getProperty("testdata.snapshot.dir", "target/testdata-cache"));
+
+    private static final Map<String, Sheet> SHEETS = new ConcurrentHashMap<>();
+    private static final AtomicLong MEMORY_HITS = new AtomicLong();
+    private static final AtomicLong SNAPSHOT_LOADS = new AtomicLong();
+    private static final AtomicLong PARSES = new AtomicLong();
+
+    static {
+        ReportSummary.register("Test data cache", TestDataCache::describeStats);
+    }
+
+    private TestDataCache() {
+    }
+
+    /**
+     * Gets the data rows of a sheet, parsing the workbook only if neither the
+     * in-memory cache nor the snapshot matches the file on disk.
+     *
+     * @param filePath  The path to the .xlsx or .xls file
+     * @param sheetName The sheet to read
+     * @return The immutable sheet data
+     * @throws IOException if the file cannot be read
+     */
+    public static Sheet getSheet(String filePath, String sheetName) throws IOException {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        long size = Files.size(path);
+        String key = path + "#" + sheetName;
+
+        Sheet cached = SHEETS.get(key);
+        if (cached != null && cached.matches(modified, size)) {
+            MEMORY_HITS.incrementAndGet();
+            return cached;
+        }
+        try {
+            return SHEETS.compute(key, (k, current) -> {
+                if (current != null && current.matches(modified, size)) {
+                    MEMORY_HITS.incrementAndGet();
+                    return current;
+                }
+                try {
+                    return load(path, sheetName, modified, size);
+                } catch (IOException e) {
+                    throw new CacheLoadException(e);
+                }
+            });
+        } catch (CacheLoadException e) {
+            throw (IOException) e.getCause();
+        }
+    }
+
+    /**
+     * Gets the data rows of a sheet as a TestNG data provider array.
+     *
+     * @param filePath  The path to the .xlsx or .xls file
+     * @param sheetName The sheet to read
+     * @return One array per data row, each as wide as the header row
+     * @throws IOException if the file cannot be read
+     */
+    public static String[][] getRowsAsArray(String filePath, String sheetName) throws IOException {
+        Sheet sheet = getSheet(filePath, sheetName);
+        int width = sheet.headers().size();
+        String[][] data = new String[sheet.rows().size()][];
+        for (int i = 0; i < data.length; i++) {
+            String[] values = new String[width];
+            for (int j = 0; j < width; j++) {
+                values[j] = sheet.rows().get(i).get(j);
+            }
+            data[i] = values;
+        }
+        return data;
+    }
+
+    /**
+     * Describes cache effectiveness for the reports.
+     *
+     * @return Memory hit, snapshot load and parse counts
+     */
+    public static String describeStats() {
+        return "memoryHits=" + MEMORY_HITS.get() + ", snapshotLoads=" + SNAPSHOT_LOADS.get()
+                + ", parses=" + PARSES.get();
+    }
+
+    private static Sheet load(Path path, String sheetName, long modified, long size) throws IOException {
+        Path snapshot = SNAPSHOT_DIR.resolve(snapshotName(path, sheetName));
+        Sheet sheet = readSnapshot(snapshot, modified, size);
+        if (sheet != null) {
+            SNAPSHOT_LOADS.incrementAndGet();
+            LoggerUtils.debug("Loaded test data snapshot for {}#{}", path.getFileName(), sheetName);
+            return sheet;
+        }
+        sheet = parse(path, sheetName, modified, size);
+        PARSES.incrementAndGet();
+        writeSnapshot(snapshot, sheet);
+        LoggerUtils.debug("Parsed {} rows from {}#{}", sheet.rows().size(), path.getFileName(), sheetName);
+        return sheet;
+    }
+
+    private static Sheet parse(Path path, String sheetName, long modified, long size) throws IOException {
+        String filePath = path.toString();
+        if (filePath.endsWith(".xlsx")) {
+            try (ExcelRowReader reader = ExcelUtility.streamRows(filePath, sheetName)) {
+                List<ExcelRow> rows = new ArrayList<>();
+                reader.forEachRemaining(rows::add);
+                return new Sheet(List.of(reader.getHeaders()), Collections.unmodifiableList(rows), modified, size);
+            }
+        }
+
+        // .xls has no streaming reader; read it through the workbook once
+        ExcelUtility excel = new ExcelUtility(filePath);
+        try {
+            int rowCount = excel.getRowCount(sheetName);
+            int colCount = excel.getColumnCount(sheetName, 0);
+            List<String> headers = new ArrayList<>();
+            for (int j = 0; j < colCount; j++) {
+                headers.add(excel.getCellData(sheetName, 0, j));
+            }
+            Map<String, Integer> columnIndex = columnIndex(headers);
+            List<ExcelRow> rows = new ArrayList<>();
+            for (int i = 1; i < rowCount; i++) {
+                String[] values = new String[colCount];
+                for (int j = 0; j < colCount; j++) {
+                    values[j] = excel.getCellData(sheetName, i, j);
+                }
+                rows.add(new ExcelRow(i, values, columnIndex));
+            }
+            return new Sheet(List.copyOf(headers), Collections.unmodifiableList(rows), modified, size);
+        } finally {
+            excel.close();
+        }
+    }
+
+    private static Sheet readSnapshot(Path snapshot, long modified, long size) {
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION
+                    || in.readLong() != modified || in.readLong() != size) {
+                return null;
+            }
+            List<String> headers = new ArrayList<>();
+            int headerCount = in.readInt();
+            for (int j = 0; j < headerCount; j++) {
+                headers.add(readString(in));
+            }
+            Map<String, Integer> columnIndex = columnIndex(headers);
+            int rowCount = in.readInt();
+            List<ExcelRow> rows = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                int rowNum = in.readInt();
+                String[] values = new String[in.readInt()];
+                for (int j = 0; j < values.length; j++) {
+                    values[j] = readString(in);
+                }
+                rows.add(new ExcelRow(rowNum, values, columnIndex));
+            }
+            return new Sheet(List.copyOf(headers), Collections.unmodifiableList(rows), modified, size);
+        } catch (IOException | RuntimeException e) {
+            LoggerUtils.warn("Ignoring unreadable test data snapshot " + snapshot + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeSnapshot(Path snapshot, Sheet sheet) {
+        try {
+            Files.createDirectories(snapshot.getParent());
+            Path temp = Files.createTempFile(snapshot.getParent(), snapshot.getFileName().toString(), ".tmp");
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(sheet.modified);
+                out.writeLong(sheet.size);
+                out.writeInt(sheet.headers().size());
+                for (String header : sheet.headers()) {
+                    writeString(out, header);
+                }
+                out.writeInt(sheet.rows().size());
+                for (ExcelRow row : sheet.rows()) {
+                    out.writeInt(row.getRowNum());
+                    out.writeInt(row.size());
+                    for (int j = 0; j < row.size(); j++) {
+                        writeString(out, row.get(j));
+                    }
+                }
+            }
+            // Atomic so a parallel fork never reads a half-written snapshot
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LoggerUtils.warn("Failed to write test data snapshot " + snapshot + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Integer> columnIndex(List<String> headers) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            index.putIfAbsent(headers.get(i).toLowerCase(), i);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    // Length-prefixed UTF-8; DataOutput.writeUTF is capped at 64 KB
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String snapshotName(Path path, String sheetName) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((path + "#" + sheetName).getBytes(StandardCharsets.UTF_8));
+            String baseName = path.getFileName().toString().replaceAll("[^A-Za-z0-9._-]", "_");
+            return baseName + "-" + HexFormat.of().formatHex(digest, 0, 8) + ".bin";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+
+    /**
+     * Immutable header and data rows of one sheet.
+     */
+    public static final class Sheet {
+        private final List<String> headers;
+        private final List<ExcelRow> rows;
+        private final long modified;
+        private final long size;
+
+        private Sheet(List<String> headers, List<ExcelRow> rows, long modified, long size) {
+            this.headers = headers;
+            this.rows = rows;
+            this.modified = modified;
+            this.size = size;
+        }
+
+        /**
+         * Gets the header names in column order.
+         *
+         * @return The immutable header list
+         */
+        public List<String> headers() {
+            return headers;
+        }
+
+        /**
+         * Gets the data rows, excluding the header row.
+         *
+         * @return The immutable row list
+         */
+        public List<ExcelRow> rows() {
+            return rows;
+        }
+
+        private boolean matches(long modified, long size) {
+            return this.modified == modified && this.size == size;
+        }
+    }
+
+    private static final class CacheLoadException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private CacheLoadException(IOException cause) {
+            super(cause);
+        }
+    }
+}
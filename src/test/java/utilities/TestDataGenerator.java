@@ -1,9 +1,17 @@
 package utilities;
 
 import com.github.javafaker.Faker;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import testBase.BaseClass;
 
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -11,19 +19,83 @@ import java.util.stream.IntStream;
  * Utility class for generating test data.
  * Provides methods for generating both valid and invalid test data with
  * enhanced validation.
+ * <p>
+ * All values derive from one run seed (logged at start-up and shown in the
+ * reports); rerunning with {@code -DdataSeed=<seed>} reproduces them. Each
+ * generator draws from its own {@link SplittableRandom} stream derived from the
+ * run seed and its scope, while the expensive Faker instances are created once
+ * per thread and reseeded from that stream on every call. Subdomains, emails,
+ * NPIs and phone numbers are claimed in the {@link UniquenessRegistry} so no
+ * run or parallel fork reuses one.
  */
 public class TestDataGenerator {
-    private static final String EMAIL_PATTERN = "^[A-Za-z0-99+_.-]+@(.+)$";
-    private static final String PHONE_PATTERN = "^\\d{10}$";
-    private static final String NPI_PATTERN = "^\\d{10}$";
-    private static final String SUBDOMAIN_PATTERN = "^[a-z0-9-]+$";
-    private static final String ZIP_CODE_PATTERN = "^\\d{5}(-\\d{4})?$";
-    private static final String PASSWORD_PATTERN = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,}$";
-    private static final String URL_PATTERN = "^(https?://)?([\\da-z.-]+)\\.([a-z.]{2,6})([/\\w .-]*)*/?$";
-    private static final String DATE_PATTERN = "^(0[1-9]|1[0-2])/(0[1-9]|[12][0-9]|3[01])/\\d{4}$";
 
-    protected Faker faker = new Faker();
-    private Random random = new Random();
+    private static final String PASSWORD_DIGITS = "0123456789";
+    private static final String PASSWORD_LOWER = "abcdefghijklmnopqrstuvwxyz";
+    private static final String PASSWORD_UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String PASSWORD_SPECIAL = "@#$%^&+=";
+    private static final String PASSWORD_ANY = PASSWORD_DIGITS + PASSWORD_LOWER + PASSWORD_UPPER + PASSWORD_SPECIAL;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int MAX_UNIQUE_ATTEMPTS = 100;
+
+    // Faker loads its locale YAML on construction, so each thread builds one and reseeds it per call
+    private static final ThreadLocal<SeededFaker> THREAD_FAKER = ThreadLocal.withInitial(SeededFaker::new);
+
+    private static final Map<String, AtomicInteger> SCOPE_SEQUENCES = new ConcurrentHashMap<>();
+
+    private final SplittableRandom random;
+
+    /**
+     * Creates a generator scoped to the calling thread's current TestNG method
+     * (or the thread outside a test) plus a sequence number. Prefer
+     * {@link #TestDataGenerator(String)} when values must reproduce exactly
+     * under parallel execution.
+     */
+    public TestDataGenerator() {
+        this(defaultScope());
+    }
+
+    /**
+     * Creates a generator whose values are determined by the run seed and the
+     * scope, e.g. "TC002_AddProviderGroup.testAddProviderGroup". Generators with
+     * the same scope produce the same values within a run.
+     *
+     * @param scope Name that identifies the consumer of the data
+     */
+    public TestDataGenerator(String scope) {
+        this(new SplittableRandom(mix(RunSeed.VALUE + scope.hashCode() * GOLDEN_GAMMA)));
+    }
+
+    private TestDataGenerator(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Gets the seed all generated data of this run derives from.
+     *
+     * @return The run seed
+     */
+    public static long getRunSeed() {
+        return RunSeed.VALUE;
+    }
+
+    /**
+     * Generates values in bulk, filling the batch in parallel. Element {@code i}
+     * comes from its own generator derived from this one, so the batch content
+     * does not depend on which thread filled which element.
+     *
+     * @param count     The number of values to generate
+     * @param generator The value to generate, e.g. {@code TestDataGenerator::generateRandomEmail}
+     * @param <T>       The value type
+     * @return The generated values, in index order
+     */
+    public <T> List<T> generate(int count, Function<TestDataGenerator, T> generator) {
+        long batchSeed = nextSeed();
+        return IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> generator.apply(new TestDataGenerator(new SplittableRandom(mix(batchSeed + i * GOLDEN_GAMMA)))))
+                .collect(Collectors.toList());
+    }
 
     /**
      * Generates a list of random first names.
@@ -32,9 +104,7 @@ public class TestDataGenerator {
      * @return List of random first names
      */
     public List<String> generateRandomFirstNames(int count) {
-        return IntStream.range(0, count)
-                .mapToObj(i -> generateRandomFirstName())
-                .collect(Collectors.toList());
+        return generate(count, TestDataGenerator::generateRandomFirstName);
     }
 
     /**
@@ -44,9 +114,7 @@ public class TestDataGenerator {
      * @return List of random last names
      */
     public List<String> generateRandomLastNames(int count) {
-        return IntStream.range(0, count)
-                .mapToObj(i -> generateRandomLastName())
-                .collect(Collectors.toList());
+        return generate(count, TestDataGenerator::generateRandomLastName);
     }
 
     /**
@@ -56,9 +124,7 @@ public class TestDataGenerator {
      * @return List of random email addresses
      */
     public List<String> generateRandomEmails(int count) {
-        return IntStream.range(0, count)
-                .mapToObj(i -> generateRandomEmail())
-                .collect(Collectors.toList());
+        return generate(count, TestDataGenerator::generateRandomEmail);
     }
 
     /**
@@ -66,13 +132,24 @@ public class TestDataGenerator {
      * 
      * @return A secure password
      */
-    public String generateSecurePassword() {
-        String password;
-        do {
-            password = faker.internet().password(8, 16, true, true, true);
-        } while (!Pattern.matches(PASSWORD_PATTERN, password));
+    public synchronized String generateSecurePassword() {
+        // Built to pass Validators.isValidPassword: one character of each class, the rest from all classes, then shuffled
+        char[] password = new char[8 + random.nextInt(9)];
+        password[0] = pick(PASSWORD_DIGITS);
+        password[1] = pick(PASSWORD_LOWER);
+        password[2] = pick(PASSWORD_UPPER);
+        password[3] = pick(PASSWORD_SPECIAL);
+        for (int i = 4; i < password.length; i++) {
+            password[i] = pick(PASSWORD_ANY);
+        }
+        for (int i = password.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char swap = password[i];
+            password[i] = password[j];
+            password[j] = swap;
+        }
         LoggerUtils.debug("Generated secure password");
-        return password;
+        return new String(password);
     }
 
     /**
@@ -81,9 +158,7 @@ public class TestDataGenerator {
      * @return A valid URL
      */
     public String generateRandomUrl() {
-        String url = faker.internet().url();
-        LoggerUtils.debug("Generated URL: " + url);
-        return url;
+        return generated("URL", faker().internet().url());
     }
 
     /**
@@ -91,13 +166,12 @@ public class TestDataGenerator {
      * 
      * @return A date string
      */
-    public String generateRandomDate() {
+    public synchronized String generateRandomDate() {
         String date = String.format("%02d/%02d/%04d",
                 random.nextInt(12) + 1,
                 random.nextInt(28) + 1,
                 2000 + random.nextInt(23));
-        LoggerUtils.debug("Generated date: " + date);
-        return date;
+        return generated("date", date);
     }
 
     /**
@@ -107,23 +181,22 @@ public class TestDataGenerator {
      * @return List of test data objects
      */
     public List<Map<String, String>> generateTestDataObjects(int count) {
-        List<Map<String, String>> testData = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
+        List<Map<String, String>> testData = generate(count, generator -> {
             Map<String, String> data = new HashMap<>();
-            data.put("firstName", generateRandomFirstName());
-            data.put("lastName", generateRandomLastName());
-            data.put("email", generateRandomEmail());
-            data.put("phone", generatePhoneNumber());
-            data.put("npi", generateRandomNPI());
-            data.put("subdomain", generateRandomSubDomain());
-            data.put("addressLine1", generateAddressLine1());
-            data.put("addressLine2", generateAddressLine2());
-            data.put("city", generateCity());
-            data.put("zipCode", generateZipCode());
-            data.put("state", generateState());
-            testData.add(data);
-        }
-        LoggerUtils.debug("Generated " + count + " test data objects");
+            data.put("firstName", generator.generateRandomFirstName());
+            data.put("lastName", generator.generateRandomLastName());
+            data.put("email", generator.generateRandomEmail());
+            data.put("phone", generator.generatePhoneNumber());
+            data.put("npi", generator.generateRandomNPI());
+            data.put("subdomain", generator.generateRandomSubDomain());
+            data.put("addressLine1", generator.generateAddressLine1());
+            data.put("addressLine2", generator.generateAddressLine2());
+            data.put("city", generator.generateCity());
+            data.put("zipCode", generator.generateZipCode());
+            data.put("state", generator.generateState());
+            return data;
+        });
+        LoggerUtils.debug("Generated {} test data objects", count);
         return testData;
     }
 
@@ -133,9 +206,7 @@ public class TestDataGenerator {
      * @return A state name
      */
     public String generateState() {
-        String state = faker.address().state();
-        LoggerUtils.debug("Generated state: " + state);
-        return state;
+        return generated("state", faker().address().state());
     }
 
     /**
@@ -145,7 +216,7 @@ public class TestDataGenerator {
      * @return true if date is valid
      */
     public boolean isValidDate(String date) {
-        return date != null && Pattern.matches(DATE_PATTERN, date);
+        return Validators.isValidDate(date);
     }
 
     /**
@@ -155,7 +226,7 @@ public class TestDataGenerator {
      * @return true if URL is valid
      */
     public boolean isValidUrl(String url) {
-        return url != null && Pattern.matches(URL_PATTERN, url);
+        return Validators.isValidUrl(url);
     }
 
     /**
@@ -165,7 +236,7 @@ public class TestDataGenerator {
      * @return true if password is valid
      */
     public boolean isValidPassword(String password) {
-        return password != null && Pattern.matches(PASSWORD_PATTERN, password);
+        return Validators.isValidPassword(password);
     }
 
     /**
@@ -174,9 +245,7 @@ public class TestDataGenerator {
      * @return Random first name
      */
     public String generateRandomFirstName() {
-        String firstName = faker.name().firstName();
-        LoggerUtils.debug("Generated first name: " + firstName);
-        return firstName;
+        return generated("first name", faker().name().firstName());
     }
 
     /**
@@ -185,9 +254,7 @@ public class TestDataGenerator {
      * @return Clean company name
      */
     public String generateCompanyName() {
-        String companyName = faker.company().name().replaceAll("[^a-zA-Z ]", "");
-        LoggerUtils.debug("Generated company name: " + companyName);
-        return companyName;
+        return generated("company name", faker().company().name().replaceAll("[^a-zA-Z ]", ""));
     }
 
     /**
@@ -196,9 +263,7 @@ public class TestDataGenerator {
      * @return Random last name
      */
     public String generateRandomLastName() {
-        String lastName = faker.name().lastName();
-        LoggerUtils.debug("Generated last name: " + lastName);
-        return lastName;
+        return generated("last name", faker().name().lastName());
     }
 
     /**
@@ -207,9 +272,7 @@ public class TestDataGenerator {
      * @return Valid email address
      */
     public String generateRandomEmail() {
-        String email = faker.internet().emailAddress();
-        LoggerUtils.debug("Generated email: " + email);
-        return email;
+        return generated("email", unique("email", () -> faker().internet().emailAddress().toLowerCase()));
     }
 
     /**
@@ -219,9 +282,8 @@ public class TestDataGenerator {
      * @return Generated email
      */
     public String generateEmail(String prefix) {
-        String email = "tushar.bhadane+" + prefix + faker.number().digits(3) + "@thinkitive.com";
-        LoggerUtils.debug("Generated prefixed email: " + email);
-        return email;
+        return generated("prefixed email", unique("email",
+                () -> "tushar.bhadane+" + prefix + faker().number().digits(6) + "@thinkitive.com"));
     }
 
     /**
@@ -230,9 +292,7 @@ public class TestDataGenerator {
      * @return Valid phone number
      */
     public String generatePhoneNumber() {
-        String phone = faker.number().digits(10);
-        LoggerUtils.debug("Generated phone number: " + phone);
-        return phone;
+        return generated("phone number", unique("phone", () -> faker().number().digits(10)));
     }
 
     /**
@@ -240,10 +300,15 @@ public class TestDataGenerator {
      * 
      * @return Valid NPI number
      */
-    public String generateRandomNPI() {
-        String npi = faker.number().digits(10);
-        LoggerUtils.debug("Generated NPI: " + npi);
-        return npi;
+    public synchronized String generateRandomNPI() {
+        return generated("NPI", unique("npi", () -> {
+            // Valid NPIs start with 1 or 2 and end with a Luhn check digit
+            StringBuilder npi = new StringBuilder(10).append(1 + random.nextInt(2));
+            for (int i = 1; i < 9; i++) {
+                npi.append(random.nextInt(10));
+            }
+            return npi.append(Validators.npiCheckDigit(npi)).toString();
+        }));
     }
 
     /**
@@ -252,9 +317,7 @@ public class TestDataGenerator {
      * @return Valid subdomain
      */
     public String generateRandomSubDomain() {
-        String subdomain = faker.regexify("[a-z]{3,4}");
-        LoggerUtils.debug("Generated subdomain: " + subdomain);
-        return subdomain;
+        return generated("subdomain", unique("subdomain", () -> faker().regexify("[a-z]{3,4}")));
     }
 
     /**
@@ -263,9 +326,7 @@ public class TestDataGenerator {
      * @return Valid address line 1
      */
     public String generateAddressLine1() {
-        String address = faker.address().streetAddress();
-        LoggerUtils.debug("Generated address line 1: " + address);
-        return address;
+        return generated("address line 1", faker().address().streetAddress());
     }
 
     /**
@@ -274,9 +335,7 @@ public class TestDataGenerator {
      * @return Valid address line 2
      */
     public String generateAddressLine2() {
-        String address = faker.address().secondaryAddress();
-        LoggerUtils.debug("Generated address line 2: " + address);
-        return address;
+        return generated("address line 2", faker().address().secondaryAddress());
     }
 
     /**
@@ -285,9 +344,7 @@ public class TestDataGenerator {
      * @return Valid city name
      */
     public String generateCity() {
-        String city = faker.address().city();
-        LoggerUtils.debug("Generated city: " + city);
-        return city;
+        return generated("city", faker().address().city());
     }
 
     /**
@@ -296,9 +353,7 @@ public class TestDataGenerator {
      * @return Valid country name
      */
     public String generateCountry() {
-        String country = faker.address().country();
-        LoggerUtils.debug("Generated country: " + country);
-        return country;
+        return generated("country", faker().address().country());
     }
 
     /**
@@ -307,9 +362,7 @@ public class TestDataGenerator {
      * @return Valid ZIP code
      */
     public String generateZipCode() {
-        String zipCode = faker.number().digits(5);
-        LoggerUtils.debug("Generated ZIP code: " + zipCode);
-        return zipCode;
+        return generated("ZIP code", faker().number().digits(5));
     }
 
     /**
@@ -318,9 +371,7 @@ public class TestDataGenerator {
      * @return Invalid email address
      */
     public String generateInvalidEmail() {
-        String invalidEmail = faker.regexify("[a-z]{5}@[a-z]{3}"); // Missing domain
-        LoggerUtils.debug("Generated invalid email: " + invalidEmail);
-        return invalidEmail;
+        return generated("invalid email", faker().regexify("[a-z]{5}@[a-z]{3}")); // Missing domain
     }
 
     /**
@@ -329,9 +380,7 @@ public class TestDataGenerator {
      * @return Invalid phone number
      */
     public String generateInvalidPhoneNumber() {
-        String invalidPhone = faker.number().digits(5); // Less than 10 digits
-        LoggerUtils.debug("Generated invalid phone: " + invalidPhone);
-        return invalidPhone;
+        return generated("invalid phone", faker().number().digits(5)); // Less than 10 digits
     }
 
     /**
@@ -340,9 +389,7 @@ public class TestDataGenerator {
      * @return Invalid NPI number
      */
     public String generateInvalidNPI() {
-        String invalidNPI = faker.number().digits(5); // Less than 10 digits
-        LoggerUtils.debug("Generated invalid NPI: " + invalidNPI);
-        return invalidNPI;
+        return generated("invalid NPI", faker().number().digits(5)); // Less than 10 digits
     }
 
     /**
@@ -351,9 +398,112 @@ public class TestDataGenerator {
      * @return Invalid subdomain
      */
     public String generateInvalidSubdomain() {
-        String invalidSubdomain = faker.regexify("[A-Z]{3}"); // Uppercase letters
-        LoggerUtils.debug("Generated invalid subdomain: " + invalidSubdomain);
-        return invalidSubdomain;
+        return generated("invalid subdomain", faker().regexify("[A-Z]{3}")); // Uppercase letters
+    }
+
+    /**
+     * Returns the thread's Faker, reseeded from this generator's stream so the
+     * next value depends only on the run seed and the values drawn before it.
+     */
+    private Faker faker() {
+        SeededFaker seeded = THREAD_FAKER.get();
+        seeded.random.setSeed(nextSeed());
+        return seeded.faker;
+    }
+
+    /**
+     * Draws candidates until one is claimed in the uniqueness registry, so the
+     * value was not handed out before by this or any other JVM within the
+     * retention period. Without a registry the first candidate is returned.
+     */
+    private String unique(String namespace, Supplier<String> candidate) {
+        UniquenessRegistry registry = Registry.INSTANCE;
+        if (registry == null) {
+            return candidate.get();
+        }
+        for (int attempt = 0; attempt < MAX_UNIQUE_ATTEMPTS; attempt++) {
+            String value = candidate.get();
+            if (registry.claim(namespace, value)) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("No unclaimed " + namespace + " found after " + MAX_UNIQUE_ATTEMPTS
+                + " attempts; the value space is exhausted");
+    }
+
+    private synchronized long nextSeed() {
+        return random.nextLong();
+    }
+
+    private char pick(String alphabet) {
+        return alphabet.charAt(random.nextInt(alphabet.length()));
+    }
+
+    private static String generated(String label, String value) {
+        LoggerUtils.debug("Generated {}: {}", label, value);
+        return value;
+    }
+
+    // Numbered per base name so repeated default-scoped generators never repeat each other's values
+    private static String defaultScope() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        String base = result != null && result.getMethod() != null
+                ? result.getMethod().getQualifiedName()
+                : Thread.currentThread().getName();
+        return base + "#" + SCOPE_SEQUENCES.computeIfAbsent(base, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    // SplitMix64 finalizer, spreads nearby seeds across the whole long range
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Seed of the run: -DdataSeed, else the TestDataSeed config key, else random.
+     */
+    private static final class RunSeed {
+        private static final long VALUE = resolve();
+
+        private static long resolve() {
+            String configured = System.getProperty("dataSeed");
+            if ((configured == null || configured.isBlank()) && BaseClass.properties != null) {
+                configured = BaseClass.properties.getProperty("TestDataSeed");
+            }
+            long seed = configured == null || configured.isBlank()
+                    ? mix(System.nanoTime() ^ System.currentTimeMillis())
+                    : Long.parseLong(configured.trim());
+            LoggerUtils.info("Test data seed: " + seed + " (rerun with -DdataSeed=" + seed + " to reproduce)");
+            ReportSummary.register("Test data seed", () -> String.valueOf(seed));
+            return seed;
+        }
+    }
+
+    /**
+     * Registry shared by all generators: UniquenessRegistry=true (default) opens
+     * UniquenessRegistryFile, remembering values for UniquenessRetentionDays.
+     */
+    private static final class Registry {
+        private static final UniquenessRegistry INSTANCE = open();
+
+        private static UniquenessRegistry open() {
+            Properties properties = BaseClass.properties != null ? BaseClass.properties : new Properties();
+            if (!Boolean.parseBoolean(System.getProperty("UniquenessRegistry",
+                    properties.getProperty("UniquenessRegistry", "true")))) {
+                return null;
+            }
+            UniquenessRegistry registry = UniquenessRegistry.open(
+                    Paths.get(properties.getProperty("UniquenessRegistryFile", ".cache/uniqueness-registry.bin")),
+                    Duration.ofDays(Long.parseLong(properties.getProperty("UniquenessRetentionDays", "30").trim())));
+            ReportSummary.register("Uniqueness registry", registry::describeStats);
+            return registry;
+        }
+    }
+
+    private static final class SeededFaker {
+        private final Random random = new Random();
+        private final Faker faker = new Faker(random);
     }
 
     /**
@@ -363,7 +513,7 @@ public class TestDataGenerator {
      * @return true if email is valid
      */
     public boolean isValidEmail(String email) {
-        return email != null && Pattern.matches(EMAIL_PATTERN, email);
+        return Validators.isValidEmail(email);
     }
 
     /**
@@ -373,7 +523,7 @@ public class TestDataGenerator {
      * @return true if phone number is valid
      */
     public boolean isValidPhoneNumber(String phone) {
-        return phone != null && Pattern.matches(PHONE_PATTERN, phone);
+        return Validators.isValidPhoneNumber(phone);
     }
 
     /**
@@ -383,7 +533,7 @@ public class TestDataGenerator {
      * @return true if NPI number is valid
      */
     public boolean isValidNPI(String npi) {
-        return npi != null && Pattern.matches(NPI_PATTERN, npi);
+        return Validators.isValidNPI(npi);
     }
 
     /**
@@ -393,7 +543,7 @@ public class TestDataGenerator {
      * @return true if subdomain is valid
      */
     public boolean isValidSubdomain(String subdomain) {
-        return subdomain != null && Pattern.matches(SUBDOMAIN_PATTERN, subdomain);
+        return Validators.isValidSubdomain(subdomain);
     }
 
     /**
@@ -403,6 +553,6 @@ public class TestDataGenerator {
      * @return true if ZIP code is valid
      */
     public boolean isValidZipCode(String zipCode) {
-        return zipCode != null && Pattern.matches(ZIP_CODE_PATTERN, zipCode);
+        return Validators.isValidZipCode(zipCode);
     }
 }
@@ -0,0 +1,234 @@
+package utilities;
+
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Generates per-test entity data ahead of time. One daemon producer per entity
+ * type prepares the records of the tests still to run while the browser starts
+ * and the test logs in, so taking data in {@code @BeforeMethod} is a map lookup
+ * instead of a dozen generator calls on the test thread.
+ * <p>
+ * Every record is generated for the test that will take it, from a generator
+ * scoped to the test class, method and invocation (e.g.
+ * "TC002_AddProviderGroup.testAddProviderGroup"), so it depends only on the run
+ * seed and the test, whether it was prefetched or not. A producer learns which
+ * tests take its entity type from the first test of each class, then prepares
+ * the other methods of that class, at most {@code depth} ahead.
+ * <p>
+ * When the prefetcher is not running, or the test's record is not ready, the
+ * record is generated on the calling thread; these starvations are counted and
+ * reported with the queue depths.
+ */
+public final class TestDataPrefetcher {
+    private static final Channel<ProviderGroupData> PROVIDER_GROUPS =
+            new Channel<>("ProviderGroup", ProviderGroupData::generate);
+    private static final Channel<StaffData> STAFF = new Channel<>("Staff", StaffData::generate);
+    private static final List<Channel<?>> CHANNELS = List.of(PROVIDER_GROUPS, STAFF);
+
+    static {
+        ReportSummary.register("Test data prefetch", TestDataPrefetcher::describeStats);
+    }
+
+    private TestDataPrefetcher() {
+    }
+
+    /**
+     * Starts the producers. Calling it again while they run has no effect.
+     *
+     * @param depth The number of ready records kept per entity type
+     * @throws IllegalArgumentException if the depth is not positive
+     */
+    public static synchronized void start(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Prefetch depth must be positive: " + depth);
+        }
+        for (Channel<?> channel : CHANNELS) {
+            channel.start(depth);
+        }
+        LoggerUtils.info("Test data prefetch started with depth " + depth);
+    }
+
+    /**
+     * Stops the producers. Records already prepared can still be taken.
+     */
+    public static synchronized void stop() {
+        for (Channel<?> channel : CHANNELS) {
+            channel.stop();
+        }
+    }
+
+    /**
+     * Takes the provider group of a test.
+     *
+     * @param test The test about to run, as injected into {@code @BeforeMethod}
+     * @return A provider group no other test has received
+     */
+    public static ProviderGroupData nextProviderGroup(ITestResult test) {
+        return PROVIDER_GROUPS.take(test);
+    }
+
+    /**
+     * Takes the staff member of a test.
+     *
+     * @param test The test about to run, as injected into {@code @BeforeMethod}
+     * @return A staff member no other test has received
+     */
+    public static StaffData nextStaff(ITestResult test) {
+        return STAFF.take(test);
+    }
+
+    /**
+     * Describes queue usage for the reports.
+     *
+     * @return Depth, prefetched, starved and inline generation time per entity type
+     */
+    public static String describeStats() {
+        List<String> stats = new ArrayList<>();
+        for (Channel<?> channel : CHANNELS) {
+            stats.add(channel.describeStats());
+        }
+        return String.join("; ", stats);
+    }
+
+    // The generator scope of one invocation of a test method
+    private static String scope(ITestNGMethod method, int invocation) {
+        String scope = method.getRealClass().getSimpleName() + "." + method.getMethodName();
+        return invocation == 0 ? scope : scope + "#" + invocation;
+    }
+
+    private static final class Channel<T> {
+        private final String name;
+        private final Function<TestDataGenerator, T> factory;
+        // Marks a scope as taken, so neither the producer nor a retry of the test reuses its record
+        private final CompletableFuture<T> consumed = new CompletableFuture<>();
+        private final Map<String, CompletableFuture<T>> records = new ConcurrentHashMap<>();
+        private final Set<String> produced = ConcurrentHashMap.newKeySet();
+        private final Set<Class<?>> consumers = ConcurrentHashMap.newKeySet();
+        private final BlockingQueue<String> pending = new LinkedBlockingQueue<>();
+        private final AtomicLong prefetched = new AtomicLong();
+        private final AtomicLong starved = new AtomicLong();
+        private final AtomicLong inlineNanos = new AtomicLong();
+        private volatile Semaphore room;
+        private int depth;
+        private Thread producer;
+
+        private Channel(String name, Function<TestDataGenerator, T> factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+
+        private void start(int depth) {
+            if (producer != null) {
+                return;
+            }
+            Semaphore free = new Semaphore(depth);
+            producer = new Thread(() -> produce(free), "test-data-prefetch-" + name);
+            producer.setDaemon(true);
+            this.depth = depth;
+            room = free;
+            producer.start();
+        }
+
+        private void stop() {
+            if (producer == null) {
+                return;
+            }
+            // The records are kept so those already produced can still be taken and reported
+            producer.interrupt();
+            producer = null;
+        }
+
+        private void produce(Semaphore free) {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    String scope = pending.take();
+                    free.acquire();
+                    CompletableFuture<T> record = new CompletableFuture<>();
+                    produced.add(scope);
+                    if (records.putIfAbsent(scope, record) != null) {
+                        // Taken before the producer got to it
+                        produced.remove(scope);
+                        free.release();
+                        continue;
+                    }
+                    try {
+                        record.complete(generate(scope));
+                    } catch (RuntimeException e) {
+                        record.completeExceptionally(e);
+                        throw e;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // Tests fall back to inline generation, which surfaces the same error on the test thread
+                LoggerUtils.error("Test data prefetch for " + name + " stopped: " + e.getMessage());
+            }
+        }
+
+        private T take(ITestResult test) {
+            ITestNGMethod method = test.getMethod();
+            String scope = scope(method, method.getCurrentInvocationCount());
+            Semaphore free = room;
+            if (free != null && consumers.add(method.getRealClass())) {
+                plan(method.getTestClass().getTestMethods());
+            }
+            CompletableFuture<T> record = records.put(scope, consumed);
+            if (record != null && record != consumed) {
+                if (produced.remove(scope)) {
+                    free.release();
+                }
+                try {
+                    T item = record.join();
+                    prefetched.incrementAndGet();
+                    return item;
+                } catch (CompletionException e) {
+                    // Generated again below, so the error surfaces on the test thread
+                }
+            }
+            long start = System.nanoTime();
+            T item = generate(scope);
+            starved.incrementAndGet();
+            if (free != null) {
+                inlineNanos.addAndGet(System.nanoTime() - start);
+            }
+            return item;
+        }
+
+        // Queues the tests of a class that takes this entity type
+        private void plan(ITestNGMethod[] methods) {
+            for (ITestNGMethod method : methods) {
+                for (int invocation = 0; invocation < method.getInvocationCount(); invocation++) {
+                    pending.add(scope(method, invocation));
+                }
+            }
+        }
+
+        private T generate(String scope) {
+            return factory.apply(new TestDataGenerator(scope));
+        }
+
+        private String describeStats() {
+            if (room == null) {
+                return name + " off, generated inline=" + starved.get();
+            }
+            return name + " ready=" + produced.size() + "/" + depth + ", prefetched=" + prefetched.get()
+                    + ", starved=" + starved.get() + " (" + TimeUnit.NANOSECONDS.toMillis(inlineNanos.get()) + " ms inline)";
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of generated entity identifiers (subdomains, emails, NPIs, phone
+ * numbers) shared by every JVM on the machine and kept across runs, so parallel
+ * forks and nightly runs against the same tenant do not reuse a value.
+ * <p>
+ * The registry is a memory-mapped file holding an open-addressing table of
+ * 64-bit value fingerprints. Claims are lock-free: a slot is taken with a
+ * compare-and-set on the shared mapping, which is atomic across processes, and
+ * a value already claimed is found by the same probe. Once the file is older than the retention period or its
+ * table is three-quarters full, the next JVM to open it builds an empty table
+ * in a new file and renames it into place (under a lock on a sidecar .lock
+ * file). JVMs that mapped the old file keep claiming into it; the shared
+ * mapping is never cleared while another JVM may be claiming.
+ */
+public final class UniquenessRegistry {
+    private static final int MAGIC = 0x45555247; // "EURG"
+    private static final int VERSION = 2;
+    private static final int SLOT_BITS = 20;
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    // Header: magic, version (ints), created millis, claimed count (longs)
+    private static final int HEADER_BYTES = 64;
+    private static final int CREATED_OFFSET = 8;
+    private static final int COUNT_OFFSET = 16;
+    private static final int TABLE_OFFSET = HEADER_BYTES;
+    private static final int FILE_BYTES = TABLE_OFFSET + SLOTS * Long.BYTES;
+
+    private static final String EXPIRED = "expired or full";
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final AtomicLong claims = new AtomicLong();
+    private final AtomicLong collisions = new AtomicLong();
+
+    private UniquenessRegistry(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Opens (or creates) a registry file, replacing it with an empty one first
+     * if it has expired or is nearly full.
+     *
+     * @param file      The registry file
+     * @param retention How long claimed values are remembered
+     * @return The registry
+     * @throws UncheckedIOException if the file cannot be created or mapped
+     */
+    public static UniquenessRegistry open(Path file, Duration retention) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path lockFile = parent.resolve(file.getFileName() + ".lock");
+            // The lock only serializes opening and replacement; claims never take it
+            try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE)) {
+                FileLock lock = lockChannel.lock();
+                try {
+                    String state = state(file, retention);
+                    if (state != null && !replace(file, state)) {
+                        if (!state.equals(EXPIRED)) {
+                            throw new IOException("Cannot replace " + state + " registry file");
+                        }
+                        LoggerUtils.warn("Uniqueness registry {} is expired or full but still in use; replacing it later",
+                                file);
+                    }
+                    return new UniquenessRegistry(file, map(file));
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open uniqueness registry: " + file, e);
+        }
+    }
+
+    /**
+     * Claims a value for a namespace.
+     *
+     * @param namespace The kind of value, e.g. "email"
+     * @param value     The candidate value
+     * @return true if the value was free and is now claimed, false if it was claimed before
+     */
+    public boolean claim(String namespace, String value) {
+        long fingerprint = fingerprint(namespace, value);
+        int slot = (int) (fingerprint & (SLOTS - 1));
+        for (int probe = 0; probe < SLOTS; probe++) {
+            int offset = TABLE_OFFSET + slot * Long.BYTES;
+            long current = (long) LONGS.getVolatile(buffer, offset);
+            if (current == fingerprint) {
+                collisions.incrementAndGet();
+                return false;
+            }
+            if (current == 0) {
+                if (LONGS.compareAndSet(buffer, offset, 0L, fingerprint)) {
+                    LONGS.getAndAdd(buffer, COUNT_OFFSET, 1L);
+                    claims.incrementAndGet();
+                    return true;
+                }
+                // Another thread or JVM took the slot; look at it again
+                probe--;
+                continue;
+            }
+            slot = (slot + 1) & (SLOTS - 1);
+        }
+        throw new IllegalStateException("Uniqueness registry is full: " + file);
+    }
+
+    /**
+     * Checks whether a value has been claimed in this namespace.
+     *
+     * @param namespace The kind of value
+     * @param value     The value
+     * @return true if the value was claimed before
+     */
+    public boolean isClaimed(String namespace, String value) {
+        return contains(fingerprint(namespace, value));
+    }
+
+    /**
+     * Describes registry usage for the reports.
+     *
+     * @return Claim, collision and fill statistics
+     */
+    public String describeStats() {
+        long stored = (long) LONGS.getVolatile(buffer, COUNT_OFFSET);
+        return "claims=" + claims.get() + ", collisions=" + collisions.get() + ", stored=" + stored + "/" + SLOTS;
+    }
+
+    // Why the file needs replacing, or null if it can be used as is
+    private static String state(Path file, Duration retention) throws IOException {
+        if (!Files.exists(file) || Files.size(file) != FILE_BYTES) {
+            return "missing";
+        }
+        // Read without mapping: a mapping held here would stop Windows from replacing the file
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.read(header, 0);
+        }
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            return "invalid";
+        }
+        header.order(ByteOrder.nativeOrder());
+        long created = header.getLong(CREATED_OFFSET);
+        long stored = header.getLong(COUNT_OFFSET);
+        boolean current = System.currentTimeMillis() - created < retention.toMillis() && stored < SLOTS * 3L / 4;
+        return current ? null : EXPIRED;
+    }
+
+    // Builds an empty table in a new file and renames it over the old one; false if the old one cannot be replaced
+    private static boolean replace(Path file, String state) throws IOException {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.order(ByteOrder.nativeOrder()).putLong(CREATED_OFFSET, System.currentTimeMillis());
+                channel.write(header, 0);
+                // Extends the file; the table reads as zeros
+                channel.write(ByteBuffer.allocate(1), FILE_BYTES - 1);
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LoggerUtils.info("Initialized uniqueness registry {} ({})", file, state);
+            return true;
+        } catch (FileSystemException e) {
+            // Windows refuses to replace a file another process has mapped
+            LoggerUtils.debug("Could not replace uniqueness registry: {}", e.getMessage());
+            return false;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_BYTES);
+        }
+    }
+
+    private boolean contains(long fingerprint) {
+        int slot = (int) (fingerprint & (SLOTS - 1));
+        for (int probe = 0; probe < SLOTS; probe++) {
+            long current = (long) LONGS.getVolatile(buffer, TABLE_OFFSET + slot * Long.BYTES);
+            if (current == fingerprint) {
+                return true;
+            }
+            if (current == 0) {
+                return false;
+            }
+            slot = (slot + 1) & (SLOTS - 1);
+        }
+        return false;
+    }
+
+    // FNV-1a over namespace and value, finished with SplitMix64; 0 marks an empty slot so it is never returned
+    private static long fingerprint(String namespace, String value) {
+        long hash = 0xCBF29CE484222325L;
+        String key = namespace + '\u0000' + value;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        long fingerprint = mix(hash);
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,176 @@
+package utilities;
+
+import java.util.regex.Pattern;
+
+/**
+ * Format validators for generated and entered test data. Fixed-shape formats
+ * (phone, NPI, ZIP, subdomain, date, password) are checked by single-pass
+ * scanners that allocate nothing; the free-form ones (email, URL) use patterns
+ * compiled once.
+ */
+public final class Validators {
+    private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+    private static final Pattern URL = Pattern.compile("^(https?://)?([\\da-z.-]+)\\.([a-z.]{2,6})[/\\w .-]*/?$");
+    private static final String PASSWORD_SPECIALS = "@#$%^&+=";
+
+    // Luhn contribution of the "80840" prefix that NPI check digits are computed with
+    private static final int NPI_PREFIX_SUM = 24;
+
+    private Validators() {
+    }
+
+    /**
+     * Validates an email address: local part of letters, digits and {@code +_.-},
+     * then "@" and a non-empty domain.
+     *
+     * @param email The email to validate
+     * @return true if the email is valid
+     */
+    public static boolean isValidEmail(String email) {
+        return email != null && EMAIL.matcher(email).matches();
+    }
+
+    /**
+     * Validates a 10-digit phone number.
+     *
+     * @param phone The phone number to validate
+     * @return true if the phone number is exactly 10 digits
+     */
+    public static boolean isValidPhoneNumber(String phone) {
+        return phone != null && phone.length() == 10 && isDigits(phone, 0, 10);
+    }
+
+    /**
+     * Validates an NPI number: 10 digits whose last digit is the Luhn check digit
+     * of the first nine, computed with the 80840 prefix.
+     *
+     * @param npi The NPI number to validate
+     * @return true if the NPI number is valid
+     */
+    public static boolean isValidNPI(String npi) {
+        return npi != null && npi.length() == 10 && isDigits(npi, 0, 10)
+                && npi.charAt(9) - '0' == npiCheckDigit(npi);
+    }
+
+    /**
+     * Computes the NPI check digit for the first nine digits of a number.
+     *
+     * @param digits At least nine digits; only the first nine are used
+     * @return The check digit (0-9)
+     */
+    public static int npiCheckDigit(CharSequence digits) {
+        int sum = NPI_PREFIX_SUM;
+        for (int i = 8; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            // Counting from the right of the 9-digit base, every other digit starting with the last is doubled
+            if ((8 - i) % 2 == 0) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Validates a subdomain: one or more lowercase letters, digits or hyphens.
+     *
+     * @param subdomain The subdomain to validate
+     * @return true if the subdomain is valid
+     */
+    public static boolean isValidSubdomain(String subdomain) {
+        if (subdomain == null || subdomain.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < subdomain.length(); i++) {
+            char c = subdomain.charAt(i);
+            if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates a US ZIP or ZIP+4 code.
+     *
+     * @param zipCode The ZIP code to validate
+     * @return true if the code is 5 digits, optionally followed by "-" and 4 digits
+     */
+    public static boolean isValidZipCode(String zipCode) {
+        if (zipCode == null) {
+            return false;
+        }
+        if (zipCode.length() == 5) {
+            return isDigits(zipCode, 0, 5);
+        }
+        return zipCode.length() == 10 && isDigits(zipCode, 0, 5) && zipCode.charAt(5) == '-'
+                && isDigits(zipCode, 6, 10);
+    }
+
+    /**
+     * Validates a URL with optional http(s) scheme.
+     *
+     * @param url The URL to validate
+     * @return true if the URL is valid
+     */
+    public static boolean isValidUrl(String url) {
+        return url != null && URL.matcher(url).matches();
+    }
+
+    /**
+     * Validates a password: at least 8 characters, no whitespace, and at least one
+     * digit, lowercase letter, uppercase letter and one of {@code @#$%^&+=}.
+     *
+     * @param password The password to validate
+     * @return true if the password is valid
+     */
+    public static boolean isValidPassword(String password) {
+        if (password == null || password.length() < 8) {
+            return false;
+        }
+        boolean digit = false;
+        boolean lower = false;
+        boolean upper = false;
+        boolean special = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (Character.isWhitespace(c)) {
+                return false;
+            }
+            digit |= c >= '0' && c <= '9';
+            lower |= c >= 'a' && c <= 'z';
+            upper |= c >= 'A' && c <= 'Z';
+            special |= PASSWORD_SPECIALS.indexOf(c) >= 0;
+        }
+        return digit && lower && upper && special;
+    }
+
+    /**
+     * Validates a date in MM/DD/YYYY format (month 01-12, day 01-31).
+     *
+     * @param date The date to validate
+     * @return true if the date has the expected shape
+     */
+    public static boolean isValidDate(String date) {
+        if (date == null || date.length() != 10 || date.charAt(2) != '/' || date.charAt(5) != '/'
+                || !isDigits(date, 0, 2) || !isDigits(date, 3, 5) || !isDigits(date, 6, 10)) {
+            return false;
+        }
+        int month = (date.charAt(0) - '0') * 10 + date.charAt(1) - '0';
+        int day = (date.charAt(3) - '0') * 10 + date.charAt(4) - '0';
+        return month >= 1 && month <= 12 && day >= 1 && day <= 31;
+    }
+
+    private static boolean isDigits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}